@@ -0,0 +1,31 @@
+-- Composite indexes for the devotee list filters
+-- Backs GET /api/devotees filtering (status, namhatta, shraddhakutir, initiated, district)
+-- and its sort orders, including cursor pages that sort on COALESCE(column, '') then id.
+-- Safe to re-run. CONCURRENTLY avoids locking devotees; run outside a transaction block.
+
+-- Equality filters on foreign keys, ordered by id within each value
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_status_id ON devotees (devotional_status_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_namhatta_id ON devotees (namhatta_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_shraddhakutir_id ON devotees (shraddhakutir_id, id);
+
+-- Initiated-only lists
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_initiated ON devotees (id)
+  WHERE initiated_name IS NOT NULL AND initiated_name <> '';
+
+-- Sort orders: offset pages sort on the column, cursor pages on COALESCE(column, ...)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_name_sort ON devotees (name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_name_keyset ON devotees ((COALESCE(name, '')), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_legal_name_keyset ON devotees ((COALESCE(legal_name, '')), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_created_at_keyset
+  ON devotees ((COALESCE(created_at, TIMESTAMP '1970-01-01 00:00:00')), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_updated_at_keyset
+  ON devotees ((COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00')), id);
+
+-- District scope is an EXISTS probe; this serves it from either side of the link table
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotee_addresses_address_devotee ON devotee_addresses (address_id, devotee_id);
+
+ANALYZE devotees;
+ANALYZE devotee_addresses;
+
+-- Verify the indexes
+SELECT indexname FROM pg_indexes WHERE tablename IN ('devotees', 'devotee_addresses') ORDER BY indexname;
@@ -0,0 +1,34 @@
+-- Trigram search index for devotees
+-- Backs the ranked devotee search (legal name, name, initiated name, email, phone).
+-- Substring, prefix and typo-tolerant matches all use the same GIN index.
+-- Safe to re-run. Without it the application falls back to LIKE scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- One lower-cased document per devotee. It is IMMUTABLE so it can be indexed,
+-- and queries must call it with the same arguments to hit the index.
+CREATE OR REPLACE FUNCTION devotee_search_document(
+  legal_name TEXT, name TEXT, initiated_name TEXT, email TEXT, phone TEXT
+) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+  SELECT lower(
+    coalesce(legal_name, '') || ' ' ||
+    coalesce(name, '') || ' ' ||
+    coalesce(initiated_name, '') || ' ' ||
+    coalesce(email, '') || ' ' ||
+    coalesce(phone, '')
+  )
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_devotees_search_trgm
+  ON devotees
+  USING gin (devotee_search_document(legal_name, name, initiated_name, email, phone) gin_trgm_ops);
+
+-- District filtering for supervisor searches goes through devotee_addresses
+CREATE INDEX IF NOT EXISTS idx_devotee_addresses_devotee_id ON devotee_addresses (devotee_id);
+CREATE INDEX IF NOT EXISTS idx_addresses_district_name_english ON addresses (district_name_english);
+
+ANALYZE devotees;
+
+-- Verify the index
+SELECT indexname FROM pg_indexes WHERE tablename = 'devotees' AND indexname = 'idx_devotees_search_trgm';
@@ -0,0 +1,12 @@
+-- GIN index over devotees.devotional_courses
+-- Backs the course queries under /api/courses, which match devotees with jsonb containment
+-- (devotional_courses @> '[{"courseName": "...", "status": "completed"}]').
+-- Safe to re-run. CONCURRENTLY avoids locking devotees; run outside a transaction block.
+
+-- jsonb_path_ops only supports @>, which is all the course queries use, and is smaller than jsonb_ops
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_devotees_courses ON devotees USING gin (devotional_courses jsonb_path_ops);
+
+ANALYZE devotees;
+
+-- Verify the index
+SELECT indexname, indexdef FROM pg_indexes WHERE tablename = 'devotees' AND indexname = 'idx_devotees_courses';
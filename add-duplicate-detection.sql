@@ -0,0 +1,32 @@
+-- Tables for the duplicate devotee detection job
+-- devotee_blocking_keys is scratch space the job truncates and refills on every run; it is
+-- UNLOGGED because it is rebuilt from devotees and never needs crash recovery.
+-- devotee_duplicate_pairs holds the reviewable report behind /api/admin/duplicates.
+-- Safe to re-run.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS devotee_blocking_keys (
+  block_key TEXT NOT NULL,
+  devotee_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS devotee_duplicate_pairs (
+  id BIGSERIAL PRIMARY KEY,
+  devotee_id_a BIGINT NOT NULL REFERENCES devotees(id) ON DELETE CASCADE,
+  devotee_id_b BIGINT NOT NULL REFERENCES devotees(id) ON DELETE CASCADE,
+  score NUMERIC(4, 3) NOT NULL,
+  reasons TEXT,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, CONFIRMED, DISMISSED
+  detected_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  reviewed_at TIMESTAMP,
+  CONSTRAINT uq_devotee_duplicate_pairs UNIQUE (devotee_id_a, devotee_id_b),
+  CONSTRAINT ck_devotee_duplicate_pairs_order CHECK (devotee_id_a < devotee_id_b)
+);
+
+-- Report pages: pending pairs, best matches first
+CREATE INDEX IF NOT EXISTS idx_devotee_duplicate_pairs_review
+  ON devotee_duplicate_pairs (status, score DESC, id);
+CREATE INDEX IF NOT EXISTS idx_devotee_duplicate_pairs_b ON devotee_duplicate_pairs (devotee_id_b);
+
+-- Verify the tables
+SELECT table_name FROM information_schema.tables
+WHERE table_name IN ('devotee_blocking_keys', 'devotee_duplicate_pairs');
@@ -0,0 +1,87 @@
+package com.namhatta.security;
+
+import com.namhatta.entity.User;
+import com.namhatta.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationBenchmark - Token handling cost of one authenticated request
+ * legacyPerRequest replays what JwtAuthenticationFilter did before claims were parsed once: validateToken
+ * and five claim getters, each deriving the HMAC key, building a parser and verifying the signature.
+ * singleParse is one verification with the prebuilt parser; singleParseCached is a repeat request
+ * answered from the verified-token cache.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtAuthenticationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-signing-secret-benchmark-signing-secret-0123456789";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = provider(0);
+        cached = provider(30_000);
+        User user = User.builder()
+                .id(42L)
+                .username("supervisor")
+                .role(UserRole.DISTRICT_SUPERVISOR)
+                .build();
+        token = uncached.createToken(user, UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        blackhole.consume(legacyClaims(token) != null);
+        blackhole.consume(legacyClaims(token).getSubject());
+        blackhole.consume(legacyClaims(token).get("sessionToken", String.class));
+        blackhole.consume(legacyClaims(token).get("userId", Long.class));
+        blackhole.consume(legacyClaims(token).get("role", String.class));
+        blackhole.consume(legacyClaims(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return uncached.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims singleParseCached() {
+        return cached.parseToken(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtTokenProvider provider(long claimsCacheTtlMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "claimsCacheTtlMs", claimsCacheTtlMs);
+        ReflectionTestUtils.setField(provider, "claimsCacheSize", 1_000);
+        provider.init();
+        return provider;
+    }
+}
@@ -37,6 +37,33 @@ public class ApplicationProperties {
     @Valid
     private final Cors cors = new Cors();
     
+    @Valid
+    private final Geographic geographic = new Geographic();
+    
+    @Valid
+    private final Counters counters = new Counters();
+    
+    @Valid
+    private final Dashboard dashboard = new Dashboard();
+    
+    @Valid
+    private final Search search = new Search();
+    
+    @Valid
+    private final BulkImport bulkImport = new BulkImport();
+    
+    @Valid
+    private final Export export = new Export();
+    
+    @Valid
+    private final Duplicates duplicates = new Duplicates();
+    
+    @Valid
+    private final Acl acl = new Acl();
+    
+    @Valid
+    private final Sessions sessions = new Sessions();
+    
     @Data
     public static class Jwt {
         @NotBlank
@@ -59,4 +86,81 @@ public class ApplicationProperties {
         private boolean allowCredentials = true;
         private long maxAge = 3600L;
     }
-}
\ No newline at end of file
+    
+    @Data
+    public static class Geographic {
+        private boolean indexEnabled = true; // Serve cascading dropdowns and pincode search from in-memory indexes
+        private boolean samplePincodesEnabled = true; // Return sample pincodes while the addresses table is empty
+        private int pincodeCacheSize = 10000; // Max resolved pincodes kept in memory
+        private int pincodeBatchLimit = 500; // Max pincodes per batch resolution request
+    }
+    
+    @Data
+    public static class Counters {
+        private boolean enabled = true; // Serve map and dashboard counts from in-memory counters
+        private long reconcileIntervalMs = 600000L; // Full recount from the database to correct drift
+    }
+    
+    @Data
+    public static class Dashboard {
+        private boolean snapshotsEnabled = true; // Serve /api/dashboard from precomputed snapshots
+        private long snapshotRefreshMs = 60000L; // Background refresh interval per scope
+        private long snapshotIdleEvictMs = 1800000L; // Drop scopes nobody has read for this long
+        private long streamTimeoutMs = 1800000L; // SSE connection lifetime; clients reconnect automatically
+        private long streamHeartbeatMs = 25000L; // Keep-alive comment interval, below typical proxy idle timeouts
+        private int streamMaxSubscribers = 1000; // Open /api/stream/dashboard connections accepted at once
+    }
+    
+    @Data
+    public static class Search {
+        private boolean trigramEnabled = true; // Use the pg_trgm devotee search index when installed
+        private long detectIntervalMs = 600000L; // How often to re-check whether the index is installed
+    }
+    
+    @Data
+    public static class BulkImport {
+        @Min(1)
+        private int batchSize = 1000; // Rows per JDBC batch and per transaction
+        private int maxErrors = 1000; // Row errors listed in the response; further failures are only counted
+        private int maxRecordLength = 65536; // Longest accepted CSV record or NDJSON line, in characters
+        private int maxUpdateIds = 10000; // Most ids accepted by one bulk status or namhatta update
+    }
+    
+    @Data
+    public static class Export {
+        @Min(1)
+        private int fetchSize = 1000; // Rows fetched per round trip by export cursors
+    }
+    
+    @Data
+    public static class Duplicates {
+        private String cron = "-"; // Schedule for the duplicate scan; "-" runs it only from /api/admin/duplicates/scan
+        @Min(2)
+        private int maxBlockSize = 200; // Larger blocks (shared placeholder phones, common names) are skipped
+        private double minScore = 0.7; // Pairs scoring below this are not reported
+        @Min(1)
+        private int batchSize = 1000; // Rows per JDBC fetch and per write batch
+    }
+    
+    @Data
+    public static class Acl {
+        private boolean indexEnabled = true; // Answer supervisor district checks from the in-memory ACL index
+        private long reconcileIntervalMs = 600000L; // Full reload from the database to correct drift
+        @Min(1)
+        private int fetchSize = 5000; // Rows fetched per round trip while loading the index
+        private long scopeCacheTtlMs = 600000L; // How long a supervisor's resolved district scope is reused
+        @Min(1)
+        private int scopeCacheSize = 10000; // Max supervisors kept in the district scope cache
+    }
+    
+    @Data
+    public static class Sessions {
+        private long validityCacheTtlMs = 60000L; // How long a validated session is trusted without a database check
+        @Min(1)
+        private int validityCacheSize = 10000; // Max sessions kept in the validity cache
+        private long activityFlushMs = 30000L; // Interval for writing coalesced last-activity times
+        private long principalCacheTtlMs = 300000L; // How long a loaded user principal is reused without a lookup
+        @Min(1)
+        private int principalCacheSize = 10000; // Max user principals kept in the principal cache
+    }
+}
@@ -0,0 +1,19 @@
+package com.namhatta.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async background work (index rebuilds, cache refreshes)
+ * Uses Spring Boot's auto-configured application task executor
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    public AsyncConfig() {
+        log.info("Initializing async configuration for background processing");
+    }
+}
@@ -0,0 +1,19 @@
+package com.namhatta.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (counter reconciliation, cache refreshes)
+ * Uses Spring Boot's auto-configured task scheduler
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class SchedulingConfig {
+
+    public SchedulingConfig() {
+        log.info("Initializing scheduling configuration for periodic jobs");
+    }
+}
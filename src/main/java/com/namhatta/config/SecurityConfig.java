@@ -2,6 +2,7 @@ package com.namhatta.config;
 
 import com.namhatta.security.JwtAuthenticationEntryPoint;
 import com.namhatta.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -53,12 +54,15 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches of already authorized streaming responses (SSE, exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints (same as Node.js)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/health", "/api/about").permitAll()
                 .requestMatchers("/api/countries", "/api/states", "/api/districts").permitAll()
                 .requestMatchers("/api/sub-districts", "/api/villages", "/api/pincodes/**").permitAll()
-                .requestMatchers("/api/address-by-pincode").permitAll()
+                .requestMatchers("/api/address-by-pincode", "/api/address-by-pincode/batch").permitAll()
                 
                 // Swagger/OpenAPI endpoints
                 .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
@@ -80,6 +84,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/hierarchy/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
                 .requestMatchers("/api/status-distribution/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
                 .requestMatchers("/api/map/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
+                .requestMatchers("/api/stream/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
+                .requestMatchers(HttpMethod.GET, "/api/export/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
+                .requestMatchers(HttpMethod.GET, "/api/courses/**").hasAnyRole("ADMIN", "OFFICE", "DISTRICT_SUPERVISOR")
                 
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/district-supervisors/**").hasAnyRole("ADMIN", "OFFICE")
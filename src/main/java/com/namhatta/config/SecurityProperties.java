@@ -11,6 +11,9 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "security")
 @Data
 @Validated
@@ -47,6 +50,18 @@ public class SecurityProperties {
         
         @Min(60)
         private long modifyWindowSeconds = 60; // 1 minute
+        
+        // Authenticated users get their role's tier instead of the per-IP limits above
+        private Map<String, Integer> apiRequestsByRole = new HashMap<>(Map.of(
+            "ADMIN", 1000, "OFFICE", 500, "DISTRICT_SUPERVISOR", 300));
+        
+        private Map<String, Integer> modifyRequestsByRole = new HashMap<>(Map.of(
+            "ADMIN", 100, "OFFICE", 60, "DISTRICT_SUPERVISOR", 30));
+        
+        private boolean distributed = false; // Share buckets across nodes through Redis instead of per-node memory
+        
+        @Min(1)
+        private int maxBuckets = 100000; // Buckets kept in memory per node; least recently used go first
     }
     
     @Data
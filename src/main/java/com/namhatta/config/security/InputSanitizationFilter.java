@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Configuration
@@ -40,6 +41,10 @@ public class InputSanitizationFilter {
     
     private static class SanitizationFilter implements Filter {
         
+        // Streamed uploads: buffering them here would defeat streaming, so the handler escapes each value itself.
+        // Matched against the servlet path, which is decoded and has no context path or ;params.
+        private static final Set<String> STREAMED_PATHS = Set.of("/api/devotees/bulk");
+        
         @Override
         public void doFilter(ServletRequest request, ServletResponse response, 
                             FilterChain chain) throws IOException, ServletException {
@@ -47,7 +52,8 @@ public class InputSanitizationFilter {
             HttpServletRequest httpRequest = (HttpServletRequest) request;
             
             // Only sanitize POST, PUT, PATCH requests (same as Node.js)
-            if (Arrays.asList("POST", "PUT", "PATCH").contains(httpRequest.getMethod())) {
+            if (Arrays.asList("POST", "PUT", "PATCH").contains(httpRequest.getMethod())
+                    && !STREAMED_PATHS.contains(httpRequest.getServletPath())) {
                 log.trace("Applying input sanitization for: {} {}", 
                          httpRequest.getMethod(), httpRequest.getRequestURI());
                 
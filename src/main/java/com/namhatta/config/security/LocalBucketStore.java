@@ -0,0 +1,60 @@
+package com.namhatta.config.security;
+
+import com.namhatta.util.BoundedCache;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * LocalBucketStore - Per-node buckets in a bounded LRU map with idle expiry
+ * A bucket left idle for a full window has refilled completely and is no different from a new one,
+ * so it is dropped; when the map is full the least recently used bucket goes first.
+ */
+@Slf4j
+public class LocalBucketStore implements RateLimitBucketStore {
+
+    private final BoundedCache<String, LocalBucket> buckets;
+    private final long idleExpiryMs;
+
+    private static final class LocalBucket {
+        private final Bucket bucket;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        LocalBucket(Bucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    public LocalBucketStore(int maxBuckets, Duration idleExpiry) {
+        this.buckets = new BoundedCache<>(maxBuckets);
+        this.idleExpiryMs = idleExpiry.toMillis();
+    }
+
+    @Override
+    public Bucket bucket(String key, BucketConfiguration configuration) {
+        LocalBucket entry = buckets.computeIfAbsent(key, k -> new LocalBucket(create(configuration)));
+        entry.lastUsed = System.currentTimeMillis();
+        return entry.bucket;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleExpiryMs;
+        int before = buckets.size();
+        buckets.invalidateIf(entry -> entry.lastUsed < cutoff);
+        log.trace("Evicted {} idle rate-limit bucket(s)", before - buckets.size());
+    }
+
+    private static Bucket create(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth limit : configuration.getBandwidths()) {
+            builder.addLimit(limit);
+        }
+        return builder.build();
+    }
+}
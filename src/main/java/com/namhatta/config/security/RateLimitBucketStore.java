@@ -0,0 +1,15 @@
+package com.namhatta.config.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+/**
+ * Where rate-limit buckets live: per node in memory, or shared across nodes in Redis
+ */
+public interface RateLimitBucketStore {
+
+    /**
+     * The bucket for a key, created with the configuration on first use
+     */
+    Bucket bucket(String key, BucketConfiguration configuration);
+}
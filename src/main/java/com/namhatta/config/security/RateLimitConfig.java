@@ -1,27 +1,47 @@
 package com.namhatta.config.security;
 
+import com.namhatta.config.SecurityProperties;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.Refill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Configuration
 @ConfigurationProperties(prefix = "app.rate-limit")
+@Slf4j
 public class RateLimitConfig {
     
-    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final SecurityProperties.RateLimit limits;
+    private final RateLimitBucketStore bucketStore;
+    
+    public RateLimitConfig(SecurityProperties securityProperties, RedisTemplate<String, Object> redisTemplate,
+                           ReactiveRedisConnectionFactory reactiveConnectionFactory) {
+        this.limits = securityProperties.getRateLimit();
+        if (limits.isDistributed()) {
+            log.info("Rate limit buckets are shared through Redis");
+            this.bucketStore = new RedisBucketStore(redisTemplate, reactiveConnectionFactory);
+        } else {
+            long longestWindow = Math.max(limits.getLoginWindowSeconds(),
+                Math.max(limits.getApiWindowSeconds(), limits.getModifyWindowSeconds()));
+            this.bucketStore = new LocalBucketStore(limits.getMaxBuckets(), Duration.ofSeconds(longestWindow));
+        }
+    }
     
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public static RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
@@ -32,48 +52,68 @@ public class RateLimitConfig {
         return template;
     }
     
+    // A bean so that the local store's idle eviction gets scheduled
+    @Bean
+    public RateLimitBucketStore rateLimitBucketStore() {
+        return bucketStore;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RateLimitFilter(this, limits));
+        registrationBean.addUrlPatterns("/api/*");
+        // After the Spring Security chain, so authenticated requests are limited by user and role
+        registrationBean.setOrder(org.springframework.boot.autoconfigure.security.SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registrationBean.setName("RateLimitFilter");
+        return registrationBean;
+    }
+    
     /**
      * Login rate limiting: 5 attempts per 15 minutes per IP (same as Node.js)
      */
     public Bucket getLoginRateLimitBucket(String clientId) {
-        return buckets.computeIfAbsent("login:" + clientId, this::createLoginBucket);
+        return bucketStore.bucket("login:" + clientId,
+            limit(limits.getLoginAttempts(), limits.getLoginWindowSeconds()));
     }
     
     /**
      * API rate limiting: 100 requests per 15 minutes per IP (same as Node.js)
      */
     public Bucket getApiRateLimitBucket(String clientId) {
-        return buckets.computeIfAbsent("api:" + clientId, this::createApiBucket);
+        return bucketStore.bucket("api:" + clientId,
+            limit(limits.getApiRequests(), limits.getApiWindowSeconds()));
     }
     
     /**
      * Modification rate limiting: 10 requests per minute per IP (same as Node.js)
      */
     public Bucket getModifyRateLimitBucket(String clientId) {
-        return buckets.computeIfAbsent("modify:" + clientId, this::createModifyBucket);
+        return bucketStore.bucket("modify:" + clientId,
+            limit(limits.getModifyRequests(), limits.getModifyWindowSeconds()));
     }
     
-    private Bucket createLoginBucket(String key) {
-        // 5 attempts per 15 minutes (same as Node.js)
-        Bandwidth limit = Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(15)));
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    /**
+     * API rate limiting for an authenticated user at their role's tier
+     */
+    public Bucket getUserApiRateLimitBucket(Long userId, String role) {
+        int requests = limits.getApiRequestsByRole().getOrDefault(role, limits.getApiRequests());
+        return bucketStore.bucket("api:" + role + ":user:" + userId, limit(requests, limits.getApiWindowSeconds()));
     }
     
-    private Bucket createApiBucket(String key) {
-        // 100 requests per 15 minutes (same as Node.js)
-        Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(15)));
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    /**
+     * Modification rate limiting for an authenticated user at their role's tier
+     */
+    public Bucket getUserModifyRateLimitBucket(Long userId, String role) {
+        int requests = limits.getModifyRequestsByRole().getOrDefault(role, limits.getModifyRequests());
+        return bucketStore.bucket("modify:" + role + ":user:" + userId, limit(requests, limits.getModifyWindowSeconds()));
     }
     
-    private Bucket createModifyBucket(String key) {
-        // 10 requests per minute for modifications (same as Node.js)
-        Bandwidth limit = Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1)));
-        return Bucket.builder()
-            .addLimit(limit)
+    private static BucketConfiguration limit(long requests, long windowSeconds) {
+        // The whole allowance refills at the end of each window (same as Node.js)
+        return BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(requests, Refill.intervally(requests, Duration.ofSeconds(windowSeconds))))
             .build();
     }
     
@@ -86,4 +126,4 @@ public class RateLimitConfig {
         }
         return ipAddress;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.namhatta.config.security;
+
+import com.namhatta.config.SecurityProperties;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter - Applies the login, modification and API limits from RateLimitConfig to /api requests
+ * Authenticated requests draw from a per-user bucket sized by role; anonymous ones from a per-client bucket.
+ * Every response carries X-RateLimit-Limit, X-RateLimit-Remaining and X-RateLimit-Reset (seconds until
+ * the bucket is full again); rejected requests get 429 with Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final Set<String> MODIFYING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final RateLimitConfig rateLimitConfig;
+    private final SecurityProperties.RateLimit limits;
+    
+    private record Selection(Bucket bucket, long limit) {
+    }
+    
+    public RateLimitFilter(RateLimitConfig rateLimitConfig, SecurityProperties.RateLimit limits) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.limits = limits;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Selection selection;
+        ConsumptionProbe probe;
+        try {
+            selection = select(request);
+            probe = selection.bucket().tryConsumeAndReturnRemaining(1);
+        } catch (Exception e) {
+            // A limiter outage (e.g. Redis down) must not take the API down with it
+            log.warn("Rate limiting skipped for {} {}: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        response.setHeader("X-RateLimit-Limit", Long.toString(selection.limit()));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(probe.getRemainingTokens()));
+        response.setHeader("X-RateLimit-Reset", Long.toString(seconds(probe.getNanosToWaitForReset())));
+        
+        if (probe.isConsumed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        log.debug("Rate limit exceeded for {} {}", request.getMethod(), request.getRequestURI());
+        response.setHeader("Retry-After", Long.toString(seconds(probe.getNanosToWaitForRefill())));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, please try again later.\"}");
+    }
+    
+    private Selection select(HttpServletRequest request) {
+        boolean modifying = MODIFYING_METHODS.contains(request.getMethod());
+        if (modifying && LOGIN_PATH.equals(request.getRequestURI())) {
+            return new Selection(rateLimitConfig.getLoginRateLimitBucket(clientId(request)), limits.getLoginAttempts());
+        }
+        
+        // Set by JwtAuthenticationFilter for authenticated requests
+        Long userId = (Long) request.getAttribute("userId");
+        String role = (String) request.getAttribute("userRole");
+        if (userId != null && role != null) {
+            return modifying
+                ? new Selection(rateLimitConfig.getUserModifyRateLimitBucket(userId, role),
+                    limits.getModifyRequestsByRole().getOrDefault(role, limits.getModifyRequests()))
+                : new Selection(rateLimitConfig.getUserApiRateLimitBucket(userId, role),
+                    limits.getApiRequestsByRole().getOrDefault(role, limits.getApiRequests()));
+        }
+        
+        String clientId = clientId(request);
+        return modifying
+            ? new Selection(rateLimitConfig.getModifyRateLimitBucket(clientId), limits.getModifyRequests())
+            : new Selection(rateLimitConfig.getApiRateLimitBucket(clientId), limits.getApiRequests());
+    }
+    
+    private String clientId(HttpServletRequest request) {
+        return rateLimitConfig.getClientId(request.getRemoteAddr(), request.getHeader("User-Agent"));
+    }
+    
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
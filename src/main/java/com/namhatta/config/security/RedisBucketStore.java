@@ -0,0 +1,165 @@
+package com.namhatta.config.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RedisBucketStore - Buckets shared by all nodes, stored in Redis through the application's RedisTemplate
+ * Bucket4j's compare-and-swap proxy manager keeps each bucket's state under one key; a Lua script swaps
+ * it only if nobody else has written since it was read, so concurrent nodes retry instead of losing tokens.
+ * Keys expire once their bucket would have refilled, so idle clients leave nothing behind.
+ * Blocking buckets go through the RedisTemplate; Bucket4j's async API runs the same scripts over the
+ * reactive connection, so it never parks a thread on Redis.
+ */
+public class RedisBucketStore implements RateLimitBucketStore {
+
+    static final String KEY_PREFIX = "rate-limit:";
+
+    // Scripts are package-private so tests can run them against a real Redis
+    // ARGV: new state, ttl ms
+    static final byte[] CREATE = """
+            if redis.call('set', KEYS[1], ARGV[1], 'nx', 'px', ARGV[2]) then return 1 else return 0 end
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // ARGV: expected state, new state, ttl ms
+    static final byte[] SWAP = """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                redis.call('psetex', KEYS[1], ARGV[3], ARGV[2])
+                return 1
+            end
+            return 0
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisProxyManager proxyManager;
+
+    public RedisBucketStore(RedisTemplate<String, Object> redisTemplate,
+                            ReactiveRedisConnectionFactory reactiveConnectionFactory) {
+        this.proxyManager = new RedisProxyManager(redisTemplate,
+                new ReactiveRedisTemplate<>(reactiveConnectionFactory, RedisSerializationContext.byteArray()),
+                ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)));
+    }
+
+    @Override
+    public Bucket bucket(String key, BucketConfiguration configuration) {
+        return proxyManager.builder().build(KEY_PREFIX + key, configuration);
+    }
+
+    /**
+     * The same bucket through Bucket4j's non-blocking API
+     */
+    AsyncBucketProxy asyncBucket(String key, BucketConfiguration configuration) {
+        return proxyManager.asAsync().builder().build(KEY_PREFIX + key, configuration);
+    }
+
+    private static final class RedisProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+        private final RedisTemplate<String, Object> redisTemplate;
+        private final ReactiveRedisTemplate<byte[], byte[]> reactiveTemplate;
+        private final ExpirationAfterWriteStrategy expiration;
+
+        RedisProxyManager(RedisTemplate<String, Object> redisTemplate,
+                          ReactiveRedisTemplate<byte[], byte[]> reactiveTemplate,
+                          ExpirationAfterWriteStrategy expiration) {
+            super(ClientSideConfig.getDefault());
+            this.redisTemplate = redisTemplate;
+            this.reactiveTemplate = reactiveTemplate;
+            this.expiration = expiration;
+        }
+
+        @Override
+        protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+            byte[] redisKey = key.getBytes(StandardCharsets.UTF_8);
+            return new CompareAndSwapOperation() {
+                @Override
+                public Optional<byte[]> getStateData() {
+                    return Optional.ofNullable(redisTemplate.execute(
+                            (RedisCallback<byte[]>) connection -> connection.stringCommands().get(redisKey)));
+                }
+
+                @Override
+                public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                    byte[] ttl = ttl(newState);
+                    Boolean swapped = redisTemplate.execute((RedisCallback<Boolean>) connection -> originalData == null
+                            ? connection.scriptingCommands().eval(CREATE, ReturnType.BOOLEAN, 1, redisKey, newData, ttl)
+                            : connection.scriptingCommands().eval(SWAP, ReturnType.BOOLEAN, 1, redisKey, originalData, newData, ttl));
+                    return Boolean.TRUE.equals(swapped);
+                }
+            };
+        }
+
+        @Override
+        protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+            byte[] redisKey = key.getBytes(StandardCharsets.UTF_8);
+            return new AsyncCompareAndSwapOperation() {
+                @Override
+                public CompletableFuture<Optional<byte[]>> getStateData() {
+                    return reactiveTemplate.execute(connection -> connection.stringCommands().get(ByteBuffer.wrap(redisKey)))
+                            .next()
+                            .map(state -> Optional.of(ByteUtils.getBytes(state)))
+                            .defaultIfEmpty(Optional.empty())
+                            .toFuture();
+                }
+
+                @Override
+                public CompletableFuture<Boolean> compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                    byte[] ttl = ttl(newState);
+                    return reactiveTemplate.execute(connection -> originalData == null
+                                    ? connection.scriptingCommands().<Boolean>eval(ByteBuffer.wrap(CREATE), ReturnType.BOOLEAN, 1,
+                                            ByteBuffer.wrap(redisKey), ByteBuffer.wrap(newData), ByteBuffer.wrap(ttl))
+                                    : connection.scriptingCommands().<Boolean>eval(ByteBuffer.wrap(SWAP), ReturnType.BOOLEAN, 1,
+                                            ByteBuffer.wrap(redisKey), ByteBuffer.wrap(originalData), ByteBuffer.wrap(newData),
+                                            ByteBuffer.wrap(ttl)))
+                            .next()
+                            .map(Boolean.TRUE::equals)
+                            .defaultIfEmpty(false)
+                            .toFuture();
+                }
+            };
+        }
+
+        @Override
+        public void removeProxy(String key) {
+            redisTemplate.delete(key);
+        }
+
+        @Override
+        protected CompletableFuture<Void> removeAsync(String key) {
+            return reactiveTemplate.execute(connection ->
+                            connection.keyCommands().del(ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8))))
+                    .then()
+                    .toFuture();
+        }
+
+        @Override
+        public boolean isAsyncModeSupported() {
+            return true;
+        }
+
+        // Keep the key until the bucket would have refilled, plus the strategy's grace period
+        private byte[] ttl(RemoteBucketState newState) {
+            long now = System.currentTimeMillis();
+            long ttlMs = Math.max(1, expiration.calculateTimeToLiveMillis(newState, now * 1_000_000));
+            return Long.toString(ttlMs).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.namhatta.controller;
 
+import com.namhatta.dto.DuplicatePairDto;
+import com.namhatta.dto.PagedResponse;
 import com.namhatta.service.AdminService;
+import com.namhatta.service.DuplicateDetectionService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -20,6 +25,7 @@ import java.util.*;
 public class AdminController {
     
     private final AdminService adminService;
+    private final DuplicateDetectionService duplicateDetectionService;
     
     @GetMapping("/users")
     public ResponseEntity<Map<String, Object>> getUsers(
@@ -120,4 +126,80 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Start a duplicate devotee scan in the background; poll /duplicates/scan for progress
+     */
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<Object> startDuplicateScan() {
+        if (duplicateDetectionService.isRunning()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "A duplicate scan is already running");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+        log.info("Starting duplicate devotee scan");
+        duplicateDetectionService.scan();
+        return ResponseEntity.accepted().body(duplicateDetectionService.getLastScan());
+    }
+    
+    @GetMapping("/duplicates/scan")
+    public ResponseEntity<Object> getDuplicateScanStatus() {
+        return ResponseEntity.ok(duplicateDetectionService.getLastScan());
+    }
+    
+    @GetMapping("/duplicates")
+    public ResponseEntity<Object> getDuplicatePairs(
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting duplicate pairs - status: {}, minScore: {}, page: {}, size: {}", status, minScore, page, size);
+        
+        try {
+            PagedResponse<DuplicatePairDto> pairs = duplicateDetectionService.getPairs(
+                    status, minScore, Math.max(page, 1), Math.min(Math.max(size, 1), 100));
+            return ResponseEntity.ok(pairs);
+            
+        } catch (ValidationException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+            
+        } catch (Exception e) {
+            log.error("Error retrieving duplicate pairs", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to retrieve duplicate pairs");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Record a review decision for a pair: {"status": "CONFIRMED" | "DISMISSED" | "PENDING"}
+     */
+    @PutMapping("/duplicates/{id}")
+    public ResponseEntity<Map<String, Object>> reviewDuplicatePair(@PathVariable Long id,
+                                                                   @RequestBody Map<String, String> review) {
+        log.debug("Reviewing duplicate pair {}: {}", id, review.get("status"));
+        
+        try {
+            duplicateDetectionService.reviewPair(id, review.get("status"));
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Duplicate pair updated");
+            return ResponseEntity.ok(response);
+            
+        } catch (ValidationException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+            
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            log.error("Error reviewing duplicate pair {}", id, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to update duplicate pair");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
@@ -5,8 +5,8 @@ import com.namhatta.dto.LoginResponse;
 import com.namhatta.dto.UserDto;
 import com.namhatta.service.AuthService;
 import com.namhatta.service.SessionService;
+import com.namhatta.security.JwtClaims;
 import com.namhatta.security.JwtTokenProvider;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -109,11 +109,12 @@ public class AuthController {
             // Get token from request (cookie or header)
             String token = getTokenFromRequest(request);
             
-            if (token != null && jwtTokenProvider.validateToken(token)) {
+            JwtClaims claims = token != null ? jwtTokenProvider.parseToken(token) : null;
+            
+            if (claims != null) {
                 // Extract user info from token
-                Claims claims = jwtTokenProvider.getClaimsFromToken(token);
-                String username = claims.getSubject();
-                String sessionToken = claims.get("sessionToken", String.class);
+                String username = claims.username();
+                String sessionToken = claims.sessionToken();
                 
                 log.info("Processing logout for user: {}", username);
                 
@@ -158,15 +159,16 @@ public class AuthController {
         try {
             String token = getTokenFromRequest(request);
             
-            if (token == null || !jwtTokenProvider.validateToken(token)) {
+            JwtClaims claims = token != null ? jwtTokenProvider.parseToken(token) : null;
+            
+            if (claims == null) {
                 log.debug("Invalid or missing token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ErrorResponse.builder().error("Session expired").build());
             }
             
-            Claims claims = jwtTokenProvider.getClaimsFromToken(token);
-            String username = claims.getSubject();
-            String sessionToken = claims.get("sessionToken", String.class);
+            String username = claims.username();
+            String sessionToken = claims.sessionToken();
             
             log.debug("Validating session for user: {}", username);
             
@@ -179,9 +181,9 @@ public class AuthController {
             
             // Return user info (same format as Node.js)
             UserDto user = UserDto.builder()
-                    .id(claims.get("userId", Long.class))
+                    .id(claims.userId())
                     .username(username)
-                    .role(claims.get("role", String.class))
+                    .role(claims.role())
                     .build();
             
             log.debug("Token verification successful for user: {}", username);
@@ -0,0 +1,123 @@
+package com.namhatta.controller;
+
+import com.namhatta.dto.CourseCountDto;
+import com.namhatta.dto.PagedResponse;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.service.CourseService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CourseController - Devotional course catalog and course queries
+ * GET /api/courses, /api/courses/districts?course=, /api/courses/devotees?course=&status=&district=
+ */
+@RestController
+@RequestMapping("/api/courses")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(allowCredentials = "true")
+public class CourseController {
+
+    private final CourseService courseService;
+
+    /**
+     * All courses with enrolled and completed devotee counts
+     */
+    @GetMapping
+    public ResponseEntity<?> getCourses(HttpServletRequest request) {
+        log.debug("Getting course catalog");
+
+        try {
+            List<CourseCountDto> courses = courseService.getCourseCatalog(scopeDistricts(request, null));
+            return ResponseEntity.ok(courses);
+
+        } catch (Exception e) {
+            log.error("Error retrieving course catalog", e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve courses");
+        }
+    }
+
+    /**
+     * Enrolled and completed counts for one course, per district
+     */
+    @GetMapping("/districts")
+    public ResponseEntity<?> getCourseCountsByDistrict(
+            @RequestParam(required = false) String course,
+            HttpServletRequest request) {
+
+        log.debug("Getting district counts for course: {}", course);
+
+        try {
+            List<CourseCountDto> counts = courseService.getCourseCountsByDistrict(course, scopeDistricts(request, null));
+            return ResponseEntity.ok(counts);
+
+        } catch (ValidationException e) {
+            log.warn("Invalid course request: {}", e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Error retrieving district counts for course {}", course, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve course counts");
+        }
+    }
+
+    /**
+     * Devotees enrolled in a course, e.g. everyone who completed it in one district
+     */
+    @GetMapping("/devotees")
+    public ResponseEntity<?> getCourseDevotees(
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String district,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            HttpServletRequest request) {
+
+        log.debug("Getting devotees for course: {}, status: {}, district: {}", course, status, district);
+
+        try {
+            PagedResponse<DevoteeListItem> devotees = courseService.getCourseDevotees(
+                    course, status, scopeDistricts(request, district), Math.max(page, 1), Math.min(Math.max(size, 1), 100));
+            return ResponseEntity.ok(devotees);
+
+        } catch (ValidationException e) {
+            log.warn("Invalid course request: {}", e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Error retrieving devotees for course {}", course, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve course devotees");
+        }
+    }
+
+    /**
+     * Districts to limit results to, or null for all; supervisors are always limited to their own districts
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> scopeDistricts(HttpServletRequest request, String district) {
+        String userRole = (String) request.getAttribute("userRole");
+        List<String> requested = district != null && !district.trim().isEmpty() ? List.of(district.trim()) : null;
+        if (!"DISTRICT_SUPERVISOR".equals(userRole)) {
+            return requested;
+        }
+        List<String> allowedDistricts = (List<String>) request.getAttribute("userDistricts");
+        List<String> allowed = allowedDistricts != null ? allowedDistricts : List.of();
+        if (requested == null) {
+            return allowed;
+        }
+        return allowed.contains(requested.get(0)) ? requested : List.of();
+    }
+
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
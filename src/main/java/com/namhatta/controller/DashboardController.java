@@ -4,6 +4,7 @@ import com.namhatta.dto.DashboardStatsDto;
 import com.namhatta.dto.ErrorResponse;
 import com.namhatta.dto.StatusDistributionDto;
 import com.namhatta.service.DashboardService;
+import com.namhatta.service.DashboardSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,7 @@ import java.util.List;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final DashboardSnapshotService dashboardSnapshotService;
     
     @GetMapping("/dashboard")
     public ResponseEntity<?> getDashboardStats(HttpServletRequest request) {
@@ -35,8 +37,8 @@ public class DashboardController {
                 log.debug("Filtering dashboard stats for supervisor districts: {}", allowedDistricts);
             }
             
-            // Get real dashboard statistics from service
-            DashboardStatsDto stats = dashboardService.getDashboardStats(allowedDistricts);
+            // Serve the latest precomputed snapshot; it refreshes in the background when stale
+            DashboardStatsDto stats = dashboardSnapshotService.getDashboardStats(allowedDistricts);
             
             log.debug("Dashboard statistics retrieved successfully");
             return ResponseEntity.ok(stats);
@@ -1,16 +1,26 @@
 package com.namhatta.controller;
 
+import com.namhatta.dto.BulkDevoteeUpdateDto;
+import com.namhatta.dto.BulkImportResultDto;
+import com.namhatta.dto.BulkUpdateResultDto;
 import com.namhatta.dto.CreateDevoteeDto;
 import com.namhatta.dto.DevoteeDto;
 import com.namhatta.dto.UpdateDevoteeDto;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.repository.specification.DevoteeFilter;
+import com.namhatta.repository.support.KeysetPage;
+import com.namhatta.service.DevoteeBulkUpdateService;
+import com.namhatta.service.DevoteeImportService;
 import com.namhatta.service.DevoteeService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * DevoteeController implementing all /api/devotees/* endpoints
@@ -32,6 +43,8 @@ import java.util.Map;
 public class DevoteeController {
     
     private final DevoteeService devoteeService;
+    private final DevoteeImportService devoteeImportService;
+    private final DevoteeBulkUpdateService devoteeBulkUpdateService;
     
     /**
      * Get all devotees with filtering, sorting, and pagination
@@ -42,13 +55,20 @@ public class DevoteeController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long statusId,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) Long namhattaId,
+            @RequestParam(required = false) Integer shraddhakutirId,
+            @RequestParam(required = false) Boolean initiated,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             HttpServletRequest request) {
         
-        log.info("Getting devotees - page: {}, size: {}, status: {}, search: {}, sortBy: {}, sortOrder: {}",
-                page, size, status, search, sortBy, sortOrder);
+        log.info("Getting devotees - page: {}, size: {}, status: {}, search: {}, sortBy: {}, sortOrder: {}, cursor: {}",
+                page, size, status, search, sortBy, sortOrder, after != null);
         
         try {
             // Get user districts from JWT token (set by JwtAuthenticationFilter)
@@ -59,15 +79,47 @@ public class DevoteeController {
             
             // Apply district filtering only for supervisors
             if ("DISTRICT_SUPERVISOR".equals(userRole)) {
-                // District filtering will be applied in service layer
+                // District filtering will be applied in service layer; no districts means no devotees
                 log.debug("Applying district filtering for supervisor");
+                if (allowedDistricts == null) {
+                    allowedDistricts = List.of();
+                }
             } else {
                 allowedDistricts = null; // Admin and Office can see all
                 log.debug("Admin/Office user - no district filtering");
             }
             
-            Page<DevoteeDto> devotees = devoteeService.getFilteredDevotees(
-                allowedDistricts, status, search, sortBy, sortOrder, page, size);
+            DevoteeFilter filter = DevoteeFilter.builder()
+                    .districts(allowedDistricts)
+                    .status(status)
+                    .statusId(statusId)
+                    .gender(gender)
+                    .namhattaId(namhattaId)
+                    .shraddhakutirId(shraddhakutirId)
+                    .initiated(initiated)
+                    .search(search)
+                    .build();
+            
+            // Cursor mode: opt in with after= (empty for the first page)
+            if (after != null) {
+                KeysetPage<DevoteeListItem> devotees = devoteeService.getFilteredDevoteesAfter(
+                    filter, sortBy, sortOrder, after, size, includeTotal);
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("data", devotees.content());
+                response.put("size", size);
+                response.put("hasNext", devotees.hasNext());
+                if (devotees.nextCursor() != null) {
+                    response.put("nextCursor", devotees.nextCursor());
+                }
+                if (devotees.total() != null) {
+                    response.put("total", devotees.total());
+                }
+                return ResponseEntity.ok(response);
+            }
+            
+            Page<DevoteeListItem> devotees = devoteeService.getFilteredDevotees(
+                filter, sortBy, sortOrder, page, size);
             
             // Build response in same format as Node.js API
             Map<String, Object> response = new HashMap<>();
@@ -84,6 +136,11 @@ public class DevoteeController {
             
             return ResponseEntity.ok(response);
             
+        } catch (ValidationException e) {
+            log.warn("Invalid devotee list request: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             log.error("Error retrieving devotees", e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -144,6 +201,87 @@ public class DevoteeController {
         }
     }
     
+    /**
+     * Bulk import devotees from a CSV (text/csv) or NDJSON (application/x-ndjson) request body
+     * The body is streamed, so files of any size are accepted; rows are validated and saved in batches
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OFFICE')")
+    public ResponseEntity<Object> importDevotees(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        
+        log.info("Bulk devotee import - content type: {}, format: {}", request.getContentType(), format);
+        
+        try {
+            DevoteeImportService.Format importFormat = DevoteeImportService.Format.of(format, request.getContentType());
+            BulkImportResultDto result = devoteeImportService.importDevotees(request.getInputStream(), importFormat);
+            
+            log.info("Bulk devotee import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+            return ResponseEntity.ok(result);
+            
+        } catch (ValidationException e) {
+            log.warn("Invalid bulk devotee import: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error importing devotees", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to import devotees");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Move many devotees to a devotional status in one statement, selected by ids or by filter
+     */
+    @PostMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OFFICE')")
+    public ResponseEntity<Object> bulkUpdateStatus(
+            @RequestBody BulkDevoteeUpdateDto dto,
+            HttpServletRequest request) {
+        
+        log.info("Bulk devotee status update to status: {}", dto.getStatusId());
+        return bulkUpdate(() -> devoteeBulkUpdateService.updateStatus(dto, getAllowedDistricts(request)));
+    }
+    
+    /**
+     * Move many devotees to another namhatta in one statement, selected by ids or by filter
+     */
+    @PostMapping("/bulk/namhatta")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OFFICE')")
+    public ResponseEntity<Object> bulkUpdateNamhatta(
+            @RequestBody BulkDevoteeUpdateDto dto,
+            HttpServletRequest request) {
+        
+        log.info("Bulk devotee namhatta update to namhatta: {}", dto.getNamhattaId());
+        return bulkUpdate(() -> devoteeBulkUpdateService.updateNamhatta(dto, getAllowedDistricts(request)));
+    }
+    
+    private ResponseEntity<Object> bulkUpdate(Supplier<BulkUpdateResultDto> operation) {
+        try {
+            return ResponseEntity.ok(operation.get());
+            
+        } catch (ValidationException e) {
+            log.warn("Invalid bulk devotee update: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (AccessDeniedException e) {
+            log.warn("Bulk devotee update denied: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error in bulk devotee update", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to update devotees");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     /**
      * Update devotee
      * Same as Node.js PUT /api/devotees/:id
@@ -244,8 +382,8 @@ public class DevoteeController {
         if ("DISTRICT_SUPERVISOR".equals(userRole)) {
             List<String> districtCodes = (List<String>) request.getAttribute("userDistricts");
             // In a real implementation, we would convert district codes to district names
-            // For now, return the district codes as-is
-            return districtCodes;
+            // For now, return the district codes as-is; a supervisor without districts sees nothing
+            return districtCodes != null ? districtCodes : List.of();
         }
         
         return null; // Admin and Office can access all
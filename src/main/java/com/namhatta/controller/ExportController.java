@@ -0,0 +1,92 @@
+package com.namhatta.controller;
+
+import com.namhatta.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ExportController - Streaming data exports for district offices
+ * GET /api/export/{devotees|namhattas|updates}?format=csv|ndjson
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(allowCredentials = "true")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Stream a complete dataset as a file download, gzip-compressed when the client accepts it
+     * District supervisors only receive rows from their own districts.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<?> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+
+        log.info("Export requested - dataset: {}, format: {}", dataset, format);
+
+        try {
+            ExportService.Dataset exportDataset = ExportService.Dataset.of(dataset);
+            ExportService.Format exportFormat = ExportService.Format.of(format);
+
+            String userRole = (String) request.getAttribute("userRole");
+            List<String> allowedDistricts = (List<String>) request.getAttribute("userDistricts");
+            // Supervisors only ever export their own districts; no districts means an empty export
+            List<String> districts = "DISTRICT_SUPERVISOR".equals(userRole)
+                    ? (allowedDistricts != null ? allowedDistricts : List.of())
+                    : null;
+
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+            StreamingResponseBody body = output -> {
+                if (gzip) {
+                    try (GZIPOutputStream compressed = new GZIPOutputStream(output, 65536)) {
+                        exportService.export(exportDataset, exportFormat, districts, compressed);
+                    }
+                } else {
+                    exportService.export(exportDataset, exportFormat, districts, output);
+                }
+            };
+
+            String fileName = exportDataset.fileName() + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .header("X-Accel-Buffering", "no"); // Let proxies pass chunks through instead of buffering the file
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+
+        } catch (ValidationException e) {
+            log.warn("Invalid export request: {}", e.getMessage());
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error starting export of {}", dataset, e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to export data");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
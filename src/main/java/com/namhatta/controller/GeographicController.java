@@ -1,5 +1,6 @@
 package com.namhatta.controller;
 
+import com.namhatta.config.ApplicationProperties;
 import com.namhatta.service.GeographicService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,7 @@ import java.util.*;
 public class GeographicController {
     
     private final GeographicService geographicService;
+    private final ApplicationProperties applicationProperties;
     
     @GetMapping("/countries")
     public ResponseEntity<List<String>> getCountries() {
@@ -104,11 +106,12 @@ public class GeographicController {
             @RequestParam String country,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String after) {
         log.debug("Getting pincodes for country: {}, search: {}", country, search);
         
         try {
-            Map<String, Object> response = geographicService.getPincodes(country, page, limit, search);
+            Map<String, Object> response = geographicService.getPincodes(country, page, limit, search, after);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -119,17 +122,39 @@ public class GeographicController {
         }
     }
     
+    /**
+     * Legacy callers pass q and get a plain list of at most limit pincodes; country/search/page/limit returns a page
+     */
     @GetMapping("/pincodes/search")
-    public ResponseEntity<List<String>> searchPincodes(@RequestParam String q) {
-        log.debug("Searching pincodes with query: {}", q);
+    public ResponseEntity<?> searchPincodes(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String after) {
+        log.debug("Searching pincodes with query: {}, country: {}, search: {}", q, country, search);
+        
+        if (q != null && search == null && country == null) {
+            try {
+                List<String> matchingPincodes = geographicService.searchPincodes(q, limit);
+                return ResponseEntity.ok(matchingPincodes);
+                
+            } catch (Exception e) {
+                log.error("Error searching pincodes with query: {}", q, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+            }
+        }
         
         try {
-            List<String> matchingPincodes = geographicService.searchPincodes(q);
-            return ResponseEntity.ok(matchingPincodes);
+            Map<String, Object> response = geographicService.searchPincodes(country, search != null ? search : q, page, limit, after);
+            return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            log.error("Error searching pincodes with query: {}", q, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+            log.error("Error searching pincodes for country: {}, search: {}", country, search, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to search pincodes");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
     
@@ -148,4 +173,27 @@ public class GeographicController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+    
+    @PostMapping("/address-by-pincode/batch")
+    public ResponseEntity<Map<String, Object>> getAddressesByPincodes(@RequestBody List<String> pincodes) {
+        log.debug("Getting addresses for {} pincodes", pincodes != null ? pincodes.size() : 0);
+        
+        int batchLimit = applicationProperties.getGeographic().getPincodeBatchLimit();
+        if (pincodes == null || pincodes.size() > batchLimit) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Provide between 0 and " + batchLimit + " pincodes");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        try {
+            Map<String, Object> response = geographicService.getAddressesByPincodes(pincodes);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            log.error("Error retrieving addresses for pincodes", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to retrieve addresses");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
 }
\ No newline at end of file
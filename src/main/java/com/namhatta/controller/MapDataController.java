@@ -113,8 +113,8 @@ public class MapDataController {
         
         if ("DISTRICT_SUPERVISOR".equals(userRole)) {
             List<String> districtCodes = (List<String>) request.getAttribute("userDistricts");
-            // In real implementation, convert district codes to names
-            return districtCodes;
+            // In real implementation, convert district codes to names; none assigned means nothing visible
+            return districtCodes != null ? districtCodes : List.of();
         }
         
         return null; // Admin and Office can access all
@@ -1,6 +1,8 @@
 package com.namhatta.controller;
 
 import com.namhatta.dto.*;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.repository.projection.NamhattaListItem;
 import com.namhatta.security.UserDetailsServiceImpl;
 import com.namhatta.service.NamhattaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +22,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.Map;
@@ -52,7 +56,7 @@ public class NamhattaController {
         @ApiResponse(responseCode = "401", description = "Authentication required"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
-    public ResponseEntity<PagedResponse<NamhattaDto>> getAllNamhattas(
+    public ResponseEntity<PagedResponse<NamhattaListItem>> getAllNamhattas(
             @Parameter(description = "Page number (1-based)", example = "1")
             @RequestParam(defaultValue = "1") int page,
             
@@ -84,14 +88,25 @@ public class NamhattaController {
             @RequestParam(required = false) String sortBy,
             
             @Parameter(description = "Sort order", example = "asc")
-            @RequestParam(required = false) String sortOrder) {
+            @RequestParam(required = false) String sortOrder,
+            
+            @Parameter(description = "Opaque cursor from nextCursor; send empty for the first page to use cursor mode instead of page")
+            @RequestParam(required = false) String after,
+            
+            @Parameter(description = "Include the total count in cursor mode", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        log.debug("GET /api/namhattas - page: {}, size: {}, search: {}", page, size, search);
+        log.debug("GET /api/namhattas - page: {}, size: {}, search: {}, cursor: {}", page, size, search, after != null);
         
         // Get user context for district filtering
         List<String> allowedDistricts = getUserAllowedDistricts();
         
-        PagedResponse<NamhattaDto> response = namhattaService.getAllNamhattas(
+        if (after != null) {
+            return ResponseEntity.ok(namhattaService.getNamhattasAfter(
+                    after, size, search, status, sortBy, sortOrder, allowedDistricts, includeTotal));
+        }
+        
+        PagedResponse<NamhattaListItem> response = namhattaService.getAllNamhattas(
                 page, size, search, country, state, district, subDistrict, village, 
                 status, sortBy, sortOrder, allowedDistricts);
         
@@ -287,7 +302,7 @@ public class NamhattaController {
         @ApiResponse(responseCode = "401", description = "Authentication required"),
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
-    public ResponseEntity<PagedResponse<DevoteeDto>> getDevoteesByNamhatta(
+    public ResponseEntity<PagedResponse<DevoteeListItem>> getDevoteesByNamhatta(
             @Parameter(description = "Namhatta ID", required = true, example = "1")
             @PathVariable Long id,
             
@@ -303,7 +318,7 @@ public class NamhattaController {
         log.debug("GET /api/namhattas/{}/devotees - page: {}, size: {}", id, page, size);
         
         List<String> allowedDistricts = getUserAllowedDistricts();
-        PagedResponse<DevoteeDto> response = namhattaService.getDevoteesByNamhatta(
+        PagedResponse<DevoteeListItem> response = namhattaService.getDevoteesByNamhatta(
                 id, page, size, statusId, allowedDistricts);
         
         return ResponseEntity.ok(response);
@@ -313,18 +328,19 @@ public class NamhattaController {
     
     /**
      * Get allowed districts for current user (for district supervisors)
+     * Uses the district scope JwtAuthenticationFilter resolved for the request
      */
+    @SuppressWarnings("unchecked")
     private List<String> getUserAllowedDistricts() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication != null && authentication.getPrincipal() instanceof UserDetailsServiceImpl.UserPrincipal userPrincipal) {
             // For district supervisors, return their assigned districts
-            if ("DISTRICT_SUPERVISOR".equals(userPrincipal.getRole().name())) {
-                List<String> districts = userPrincipal.getDistricts();
-                if (districts != null && !districts.isEmpty()) {
-                    return districts;
-                }
-                return null; // No districts assigned
+            if ("DISTRICT_SUPERVISOR".equals(userPrincipal.getRole().name())
+                    && RequestContextHolder.getRequestAttributes() != null) {
+                List<String> districts = (List<String>) RequestContextHolder.getRequestAttributes()
+                    .getAttribute("userDistricts", RequestAttributes.SCOPE_REQUEST);
+                return districts != null ? districts : List.of(); // No districts assigned sees nothing
             }
         }
         
@@ -0,0 +1,63 @@
+package com.namhatta.controller;
+
+import com.namhatta.service.DashboardStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(allowCredentials = "true")
+public class StreamController {
+
+    private final DashboardStreamService dashboardStreamService;
+
+    /**
+     * Server-Sent Events stream of dashboard deltas (devoteeStatus, namhattaPending, programUpdate)
+     * Clients load /api/dashboard once and apply the deltas on top of it.
+     */
+    @GetMapping(value = "/dashboard", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamDashboard(HttpServletRequest request) {
+        log.debug("Opening dashboard stream");
+
+        try {
+            String userRole = (String) request.getAttribute("userRole");
+            List<String> allowedDistricts = (List<String>) request.getAttribute("userDistricts");
+
+            // Supervisors only ever receive deltas for their own districts
+            Set<String> scope = "DISTRICT_SUPERVISOR".equals(userRole)
+                    ? new HashSet<>(allowedDistricts != null ? allowedDistricts : List.of())
+                    : null;
+
+            SseEmitter emitter = dashboardStreamService.subscribe(scope);
+            return ResponseEntity.ok()
+                    .header("Cache-Control", "no-cache")
+                    .header("X-Accel-Buffering", "no") // Disable proxy buffering so events flush immediately
+                    .body(emitter);
+
+        } catch (IllegalStateException e) {
+            log.warn("Rejecting dashboard stream: {}", e.getMessage());
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error opening dashboard stream", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to open dashboard stream");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(errorResponse);
+        }
+    }
+}
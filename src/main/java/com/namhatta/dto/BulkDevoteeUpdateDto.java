@@ -0,0 +1,40 @@
+package com.namhatta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk devotee update request: the devotees to change, by id list or by filter, and the new value
+ * statusId is the target of a status promotion, namhattaId the target of a namhatta reassignment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDevoteeUpdateDto {
+
+    private List<Long> ids;
+    private Criteria filter;
+    private Long statusId;
+    private Long namhattaId;
+
+    /**
+     * Devotees matching every field set; same meaning as the GET /api/devotees parameters
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Criteria {
+        private Long statusId;
+        private Long namhattaId;
+        private Integer shraddhakutirId;
+        private String gender;
+        private Boolean initiated;
+        private String district;
+    }
+}
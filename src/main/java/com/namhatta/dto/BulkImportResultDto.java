@@ -0,0 +1,37 @@
+package com.namhatta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk devotee import: per-row errors plus a throughput summary
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+
+    private String format;
+    private long received;
+    private long imported;
+    private long failed;
+    private int batches;
+    private long addressesCreated;
+    private long durationMs;
+    private long rowsPerSecond;
+    private List<RowError> errors;
+    private boolean errorsTruncated; // More rows failed than are listed in errors
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line; // 1-based line in the uploaded file
+        private String message;
+    }
+}
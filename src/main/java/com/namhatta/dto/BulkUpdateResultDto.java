@@ -0,0 +1,25 @@
+package com.namhatta.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk devotee update
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDto {
+
+    private String operation; // status, namhatta
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer requested; // Ids sent; null for filter updates
+    
+    private long updated; // Devotees changed; excludes ids not found, out of scope or already at the target
+    private long durationMs;
+}
@@ -0,0 +1,25 @@
+package com.namhatta.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Devotee counts for one devotional course, optionally within one district
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseCountDto {
+    
+    private String course;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String district;
+    
+    private long enrolled;
+    private long completed;
+}
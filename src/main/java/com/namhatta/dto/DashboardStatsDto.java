@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -22,4 +23,6 @@ public class DashboardStatsDto {
     private Long totalUpdates;
     private Map<String, Integer> statusDistribution;
     private Map<String, Integer> namhattaDistribution;
+    private Instant computedAt;
+    private Long ageMs;
 }
\ No newline at end of file
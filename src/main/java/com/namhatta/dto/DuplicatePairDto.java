@@ -0,0 +1,42 @@
+package com.namhatta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One suspected duplicate pair from the duplicate devotee report
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicatePairDto {
+
+    private Long id;
+    private double score; // 0 to 1
+    private List<String> reasons;
+    private String status; // PENDING, CONFIRMED, DISMISSED
+    private LocalDateTime detectedAt;
+    private LocalDateTime reviewedAt;
+    private DevoteeSummary first;
+    private DevoteeSummary second;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DevoteeSummary {
+        private Long id;
+        private String legalName;
+        private String fatherName;
+        private String phone;
+        private String email;
+        private String dob;
+        private String gender;
+    }
+}
@@ -0,0 +1,30 @@
+package com.namhatta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress and outcome of the latest duplicate devotee scan
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateScanStatusDto {
+
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long devoteesScanned;
+    private long blockingKeys;
+    private long blocks; // Blocks with at least two devotees
+    private long oversizedBlocks; // Blocks skipped for exceeding app.duplicates.max-block-size
+    private long comparisons;
+    private long pairsFound;
+    private long durationMs;
+    private String error;
+}
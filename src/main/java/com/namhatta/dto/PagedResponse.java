@@ -1,5 +1,6 @@
 package com.namhatta.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,9 +24,10 @@ public class PagedResponse<T> {
     private List<T> data;
     
     /**
-     * Current page number (1-based)
+     * Current page number (1-based); null in cursor mode
      */
-    private int page;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer page;
     
     /**
      * Number of items per page
@@ -33,41 +35,55 @@ public class PagedResponse<T> {
     private int size;
     
     /**
-     * Total number of items across all pages
+     * Total number of items across all pages; null in cursor mode unless requested
      */
-    private int total;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer total;
     
     /**
-     * Total number of pages
+     * Total number of pages; null in cursor mode
      */
-    private int totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+    
+    /**
+     * Opaque cursor for the next page in cursor mode; null on the last page
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
     
     /**
      * Whether there is a next page
      */
     public boolean hasNext() {
-        return page < totalPages;
+        if (nextCursor != null) {
+            return true;
+        }
+        return page != null && totalPages != null && page < totalPages;
     }
     
     /**
      * Whether there is a previous page
      */
     public boolean hasPrevious() {
-        return page > 1;
+        return page != null && page > 1;
     }
     
     /**
      * Whether this is the first page
      */
     public boolean isFirst() {
-        return page == 1;
+        return page != null && page == 1;
     }
     
     /**
      * Whether this is the last page
      */
     public boolean isLast() {
-        return page == totalPages;
+        if (page != null && totalPages != null) {
+            return page.equals(totalPages);
+        }
+        return nextCursor == null;
     }
     
     /**
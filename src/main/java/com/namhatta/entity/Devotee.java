@@ -4,6 +4,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,6 +14,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "devotees")
+@NamedEntityGraph(name = Devotee.LIST_GRAPH, attributeNodes = {
+    @NamedAttributeNode("devotionalStatus"),
+    @NamedAttributeNode("namhatta")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,6 +28,12 @@ import java.util.List;
 @Schema(description = "Devotee information and spiritual progress")
 public class Devotee {
     
+    /**
+     * Fetch plan for list queries: to-one associations shown in DevoteeDto are joined in;
+     * addresses are batch-loaded (joining a collection would force in-memory pagination)
+     */
+    public static final String LIST_GRAPH = "Devotee.list";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Devotee unique identifier", example = "1")
@@ -93,9 +106,11 @@ public class Devotee {
     @Schema(description = "Current occupation")
     private String occupation;
     
-    // JSON field for devotional courses
+    // JSON field for devotional courses; indexed by idx_devotees_courses (add-devotional-course-index.sql)
+    // Replaced as a whole, never modified in place, so Hibernate skips the serialize-and-reparse snapshot copy
     @Column(name = "devotional_courses", columnDefinition = "jsonb")
     @Convert(converter = DevotionalCoursesConverter.class)
+    @Mutability(Immutability.class)
     @Builder.Default
     @Schema(description = "List of devotional courses taken")
     private List<DevotionalCourse> devotionalCourses = new ArrayList<>();
@@ -126,6 +141,7 @@ public class Devotee {
     
     // Address relationships
     @OneToMany(mappedBy = "devotee", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @Builder.Default
     @Schema(description = "Associated addresses")
     private List<DevoteeAddress> addresses = new ArrayList<>();
@@ -3,6 +3,8 @@ package com.namhatta.entity;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import lombok.extern.slf4j.Slf4j;
@@ -10,11 +12,17 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Maps devotees.devotional_courses (jsonb) to DevotionalCourse lists
+ * The reader and writer are built once for the list type and shared; both are thread-safe.
+ */
 @Converter
 @Slf4j
 public class DevotionalCoursesConverter implements AttributeConverter<List<DevotionalCourse>, String> {
     
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = OBJECT_MAPPER.readerFor(new TypeReference<List<DevotionalCourse>>() {});
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writerFor(new TypeReference<List<DevotionalCourse>>() {});
     
     @Override
     public String convertToDatabaseColumn(List<DevotionalCourse> courses) {
@@ -23,7 +31,7 @@ public class DevotionalCoursesConverter implements AttributeConverter<List<Devot
         }
         
         try {
-            String json = objectMapper.writeValueAsString(courses);
+            String json = WRITER.writeValueAsString(courses);
             log.trace("Converting devotional courses to JSON: {}", json);
             return json;
         } catch (JsonProcessingException e) {
@@ -39,7 +47,7 @@ public class DevotionalCoursesConverter implements AttributeConverter<List<Devot
         }
         
         try {
-            List<DevotionalCourse> courses = objectMapper.readValue(dbData, new TypeReference<List<DevotionalCourse>>() {});
+            List<DevotionalCourse> courses = READER.readValue(dbData);
             log.trace("Converting JSON to devotional courses: {} courses found", courses.size());
             return courses;
         } catch (JsonProcessingException e) {
@@ -0,0 +1,25 @@
+package com.namhatta.event;
+
+import com.namhatta.entity.Address;
+
+/**
+ * Published whenever a row is written to the addresses table so that
+ * in-memory geographic indexes can refresh themselves after commit
+ */
+public record AddressDataChangedEvent(String country,
+                                      String state,
+                                      String district,
+                                      String subdistrict,
+                                      String village,
+                                      String pincode) {
+
+    public static AddressDataChangedEvent of(Address address) {
+        return new AddressDataChangedEvent(
+                address.getCountry(),
+                address.getStateNameEnglish(),
+                address.getDistrictNameEnglish(),
+                address.getSubdistrictNameEnglish(),
+                address.getVillageNameEnglish(),
+                address.getPincode());
+    }
+}
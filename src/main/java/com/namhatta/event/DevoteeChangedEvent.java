@@ -0,0 +1,37 @@
+package com.namhatta.event;
+
+import com.namhatta.entity.Devotee;
+import com.namhatta.entity.DevoteeAddress;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Published by DevoteeService after a devotee is created, updated or deleted
+ * before is null on create and after is null on delete
+ */
+public record DevoteeChangedEvent(Long devoteeId,
+                                  Snapshot before,
+                                  Snapshot after) {
+
+    /**
+     * Devotee state relevant to aggregates and district scoping
+     */
+    public record Snapshot(Long statusId, Long namhattaId, Set<String> districts) {
+
+        public static Snapshot of(Devotee devotee) {
+            Set<String> districts = new TreeSet<>();
+            if (devotee.getAddresses() != null) {
+                for (DevoteeAddress devoteeAddress : devotee.getAddresses()) {
+                    if (devoteeAddress.getAddress() != null && devoteeAddress.getAddress().getDistrictNameEnglish() != null) {
+                        districts.add(devoteeAddress.getAddress().getDistrictNameEnglish());
+                    }
+                }
+            }
+            return new Snapshot(
+                    devotee.getDevotionalStatus() != null ? devotee.getDevotionalStatus().getId() : null,
+                    devotee.getNamhatta() != null ? devotee.getNamhatta().getId() : null,
+                    Set.copyOf(districts));
+        }
+    }
+}
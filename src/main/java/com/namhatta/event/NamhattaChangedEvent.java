@@ -0,0 +1,29 @@
+package com.namhatta.event;
+
+import java.util.Set;
+
+/**
+ * Published by NamhattaService after a namhatta's approval, activity or address changes
+ * Carries the before/after state so listeners can apply deltas after commit
+ */
+public record NamhattaChangedEvent(Long namhattaId,
+                                   ChangeType type,
+                                   Snapshot before,
+                                   Snapshot after) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, APPROVED, REJECTED, ADDRESS_CHANGED
+    }
+
+    /**
+     * Namhatta state relevant to aggregates; before is null for CREATED
+     */
+    public record Snapshot(boolean approved, boolean active, Set<Location> locations) {
+    }
+
+    /**
+     * One geographic location a namhatta is registered at
+     */
+    public record Location(String country, String state, String district, String subdistrict) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.namhatta.event;
+
+import java.util.Set;
+
+/**
+ * Published by UpdatesService after a program update is recorded for a namhatta
+ * districts are the namhatta's address districts, used for supervisor scoping
+ */
+public record ProgramUpdateCreatedEvent(Long updateId,
+                                        Long namhattaId,
+                                        String namhattaName,
+                                        String programType,
+                                        String date,
+                                        Integer attendance,
+                                        Set<String> districts) {
+}
@@ -0,0 +1,8 @@
+package com.namhatta.event;
+
+/**
+ * Published when a user account is written or its sessions are revoked so that
+ * cached principals for that user are dropped after commit
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
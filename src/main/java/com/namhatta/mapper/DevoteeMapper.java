@@ -211,9 +211,9 @@ public class DevoteeMapper {
     }
     
     /**
-     * Map DevotionalCourseDto list to string for database storage
+     * Map DevotionalCourseDto list to DevotionalCourse entities for storage
      */
-    private List<DevotionalCourse> mapDevotionalCoursesFromDto(List<DevotionalCourseDto> courses) {
+    public List<DevotionalCourse> mapDevotionalCoursesFromDto(List<DevotionalCourseDto> courses) {
         if (courses == null || courses.isEmpty()) {
             return new ArrayList<>();
         }
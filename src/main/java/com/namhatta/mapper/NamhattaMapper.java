@@ -17,8 +17,9 @@ public class NamhattaMapper {
     
     /**
      * Convert Namhatta entity to NamhattaDto
+     * devoteeCount comes from a count query so the devotees collection is never initialized
      */
-    public NamhattaDto toDto(Namhatta namhatta) {
+    public NamhattaDto toDto(Namhatta namhatta, long devoteeCount) {
         if (namhatta == null) {
             return null;
         }
@@ -43,7 +44,7 @@ public class NamhattaMapper {
                     namhatta.getAddresses().stream()
                         .map(this::mapAddressToDto)
                         .collect(Collectors.toList()) : new ArrayList<>())
-                .devoteeCount(Long.valueOf(namhatta.getDevotees().size()))
+                .devoteeCount(devoteeCount)
                 .status(determineStatus(namhatta))
                 .createdAt(namhatta.getCreatedAt())
                 .updatedAt(namhatta.getUpdatedAt())
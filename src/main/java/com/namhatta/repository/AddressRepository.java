@@ -2,15 +2,21 @@ package com.namhatta.repository;
 
 import com.namhatta.entity.Address;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 @Tag(name = "Address Repository", description = "Data access operations for geographic address data")
@@ -130,10 +136,51 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     List<String> findDistinctPincodesContaining(@Param("query") String query);
     
     /**
-     * Find address information by pincode
+     * First page of distinct pincodes containing search term
+     */
+    @Query("SELECT DISTINCT a.pincode FROM Address a WHERE a.pincode LIKE CONCAT('%', :query, '%') AND a.pincode IS NOT NULL ORDER BY a.pincode")
+    List<String> findDistinctPincodesContaining(@Param("query") String query, Pageable pageable);
+    
+    /**
+     * Check if any address has a pincode (stops at the first row)
+     */
+    boolean existsByPincodeIsNotNull();
+    
+    /**
+     * Check if any address in the country has a pincode (stops at the first row)
+     */
+    boolean existsByCountryAndPincodeIsNotNull(String country);
+    
+    /**
+     * Stream every distinct country/state/district/sub-district/village path
+     * Used once per rebuild of the in-memory geographic hierarchy index
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+        SELECT DISTINCT a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish, a.villageNameEnglish
+        FROM Address a WHERE a.country IS NOT NULL
+        """)
+    Stream<Object[]> streamDistinctHierarchyPaths();
+    
+    /**
+     * Stream every distinct country/pincode pair
+     * Used once per rebuild of the in-memory pincode index
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+        SELECT DISTINCT a.country, a.pincode
+        FROM Address a WHERE a.country IS NOT NULL AND a.pincode IS NOT NULL
+        """)
+    Stream<Object[]> streamDistinctCountryPincodes();
+    
+    /**
+     * Aggregate address rows per pincode and sub-district for a batch of pincodes
+     * Returns pincode, country, state, district, sub-district and row count
      */
     @Query("""
-        SELECT a FROM Address a WHERE a.pincode = :pincode
+        SELECT a.pincode, a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish, COUNT(a)
+        FROM Address a WHERE a.pincode IN :pincodes
+        GROUP BY a.pincode, a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish
         """)
-    Optional<Address> findFirstByPincode(@Param("pincode") String pincode);
+    List<Object[]> aggregateByPincodes(@Param("pincodes") Collection<String> pincodes);
 }
\ No newline at end of file
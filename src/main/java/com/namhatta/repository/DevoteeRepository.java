@@ -5,56 +5,97 @@ import com.namhatta.entity.DevotionalStatus;
 import com.namhatta.entity.Namhatta;
 import com.namhatta.entity.Shraddhakutir;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 @Tag(name = "Devotee Repository", description = "Data access operations for devotee management")
 public interface DevoteeRepository extends JpaRepository<Devotee, Long> {
     
     /**
-     * Find devotees by name (legal or initiated name) - for search functionality
+     * Indexed search document; must match idx_devotees_search_trgm (add-devotee-search-index.sql)
+     */
+    String SEARCH_DOCUMENT = "devotee_search_document(d.legal_name, d.name, d.initiated_name, d.email, d.phone)";
+    
+    /**
+     * Relevance order: substring hits, then name prefix hits, then closest fuzzy matches
      */
-    @Query("SELECT d FROM Devotee d WHERE LOWER(d.legalName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Devotee> findByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+    String SEARCH_RANK = "CASE WHEN " + SEARCH_DOCUMENT + " LIKE :contains THEN 0 ELSE 1 END, " +
+           "CASE WHEN LOWER(d.legal_name) LIKE :prefix OR LOWER(d.name) LIKE :prefix " +
+           "OR LOWER(d.initiated_name) LIKE :prefix THEN 0 ELSE 1 END, " +
+           "word_similarity(:term, " + SEARCH_DOCUMENT + ") DESC, d.legal_name, d.id";
     
     /**
-     * Search devotees by text (legal name, name, email, phone)
+     * Ranked devotee ids matching the search term by substring or by trigram word similarity
+     * Requires the pg_trgm search index; statusId is optional
      */
-    @Query("SELECT d FROM Devotee d WHERE " +
-           "LOWER(d.legalName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.phone) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Devotee> findBySearch(@Param("search") String search, Pageable pageable);
+    @Query(value = "SELECT CAST(d.id AS BIGINT) FROM devotees d " +
+           "WHERE (CAST(:statusId AS BIGINT) IS NULL OR d.devotional_status_id = :statusId) " +
+           "AND (" + SEARCH_DOCUMENT + " LIKE :contains OR :term <% " + SEARCH_DOCUMENT + ") " +
+           "ORDER BY " + SEARCH_RANK,
+           countQuery = "SELECT COUNT(*) FROM devotees d " +
+           "WHERE (CAST(:statusId AS BIGINT) IS NULL OR d.devotional_status_id = :statusId) " +
+           "AND (" + SEARCH_DOCUMENT + " LIKE :contains OR :term <% " + SEARCH_DOCUMENT + ")",
+           nativeQuery = true)
+    Page<Long> searchRankedIds(@Param("term") String term, @Param("contains") String contains,
+                               @Param("prefix") String prefix, @Param("statusId") Long statusId, Pageable pageable);
     
     /**
-     * Find devotees by devotional status ID
+     * Ranked devotee ids matching the search term within districts
+     * District access is an EXISTS probe, so no DISTINCT over joined address rows is needed
      */
-    @Query("SELECT d FROM Devotee d WHERE d.devotionalStatus.statusName = :status")
-    Page<Devotee> findByStatus(@Param("status") String status, Pageable pageable);
+    @Query(value = "SELECT CAST(d.id AS BIGINT) FROM devotees d " +
+           "WHERE (CAST(:statusId AS BIGINT) IS NULL OR d.devotional_status_id = :statusId) " +
+           "AND (" + SEARCH_DOCUMENT + " LIKE :contains OR :term <% " + SEARCH_DOCUMENT + ") " +
+           "AND EXISTS (SELECT 1 FROM devotee_addresses da JOIN addresses a ON a.id = da.address_id " +
+           "WHERE da.devotee_id = d.id AND a.district_name_english IN (:districts)) " +
+           "ORDER BY " + SEARCH_RANK,
+           countQuery = "SELECT COUNT(*) FROM devotees d " +
+           "WHERE (CAST(:statusId AS BIGINT) IS NULL OR d.devotional_status_id = :statusId) " +
+           "AND (" + SEARCH_DOCUMENT + " LIKE :contains OR :term <% " + SEARCH_DOCUMENT + ") " +
+           "AND EXISTS (SELECT 1 FROM devotee_addresses da JOIN addresses a ON a.id = da.address_id " +
+           "WHERE da.devotee_id = d.id AND a.district_name_english IN (:districts))",
+           nativeQuery = true)
+    Page<Long> searchRankedIdsInDistricts(@Param("term") String term, @Param("contains") String contains,
+                                          @Param("prefix") String prefix, @Param("statusId") Long statusId,
+                                          @Param("districts") List<String> districts, Pageable pageable);
     
     /**
-     * Find devotees by status and search
+     * Unfiltered page with the list fetch plan
      */
-    @Query("SELECT d FROM Devotee d WHERE d.devotionalStatus.statusName = :status AND " +
-           "(LOWER(d.legalName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.phone) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Devotee> findByStatusAndSearch(@Param("status") String status, @Param("search") String search, Pageable pageable);
+    @Override
+    @EntityGraph(Devotee.LIST_GRAPH)
+    Page<Devotee> findAll(Pageable pageable);
+    
+    /**
+     * Whether pg_trgm and the devotee search document function are installed
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') " +
+           "AND EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'devotee_search_document')",
+           nativeQuery = true)
+    boolean isSearchIndexInstalled();
     
     /**
      * Find devotees by namhatta ID
      */
     @Query("SELECT d FROM Devotee d WHERE d.namhatta.id = :namhattaId")
+    @EntityGraph(Devotee.LIST_GRAPH)
     List<Devotee> findByNamhattaId(@Param("namhattaId") Long namhattaId);
     
     /**
@@ -70,80 +111,34 @@ public interface DevoteeRepository extends JpaRepository<Devotee, Long> {
     /**
      * Find devotees by devotional status
      */
+    @EntityGraph(Devotee.LIST_GRAPH)
     Page<Devotee> findByDevotionalStatus(DevotionalStatus status, Pageable pageable);
     
     /**
      * Find devotees by namhatta
      */
+    @EntityGraph(Devotee.LIST_GRAPH)
     Page<Devotee> findByNamhatta(Namhatta namhatta, Pageable pageable);
     
     /**
      * Find devotees by shraddhakutir
      */
+    @EntityGraph(Devotee.LIST_GRAPH)
     Page<Devotee> findByShraddhakutir(Shraddhakutir shraddhakutir, Pageable pageable);
     
-    /**
-     * Find devotees in specific districts (for district supervisor filtering)
-     */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE a.districtNameEnglish IN :districts")
-    Page<Devotee> findByDistricts(@Param("districts") List<String> districts, Pageable pageable);
-    
-    /**
-     * Find devotees by districts and status
-     */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE a.districtNameEnglish IN :districts " +
-           "AND d.devotionalStatus.statusName = :status")
-    Page<Devotee> findByDistrictsAndStatus(@Param("districts") List<String> districts, @Param("status") String status, Pageable pageable);
-    
-    /**
-     * Find devotees by districts and search
-     */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE a.districtNameEnglish IN :districts " +
-           "AND (LOWER(d.legalName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.phone) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Devotee> findByDistrictsAndSearch(@Param("districts") List<String> districts, @Param("search") String search, Pageable pageable);
-    
-    /**
-     * Find devotees by districts, status and search
-     */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE a.districtNameEnglish IN :districts " +
-           "AND d.devotionalStatus.statusName = :status " +
-           "AND (LOWER(d.legalName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.phone) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Devotee> findByDistrictsAndStatusAndSearch(@Param("districts") List<String> districts, @Param("status") String status, @Param("search") String search, Pageable pageable);
-    
     /**
      * Find devotee by ID with district filtering
      */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE d.id = :id AND a.districtNameEnglish IN :districts")
+    @Query("SELECT d FROM Devotee d WHERE d.id = :id AND EXISTS (" +
+           "SELECT 1 FROM DevoteeAddress da WHERE da.devotee = d AND da.address.districtNameEnglish IN :districts)")
     Optional<Devotee> findByIdAndDistricts(@Param("id") Long id, @Param("districts") List<String> districts);
     
     /**
      * Find devotees by namhatta ID with district filtering
      */
-    @Query("SELECT DISTINCT d FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE d.namhatta.id = :namhattaId AND a.districtNameEnglish IN :districts")
+    @Query("SELECT d FROM Devotee d WHERE d.namhatta.id = :namhattaId AND EXISTS (" +
+           "SELECT 1 FROM DevoteeAddress da WHERE da.devotee = d AND da.address.districtNameEnglish IN :districts)")
+    @EntityGraph(Devotee.LIST_GRAPH)
     List<Devotee> findByNamhattaIdAndDistricts(@Param("namhattaId") Long namhattaId, @Param("districts") List<String> districts);
     
     /**
@@ -172,16 +167,6 @@ public interface DevoteeRepository extends JpaRepository<Devotee, Long> {
      */
     long countByNamhatta(Namhatta namhatta);
     
-    /**
-     * Count devotees by devotional status and districts
-     */
-    @Query("SELECT COUNT(DISTINCT d) FROM Devotee d " +
-           "JOIN d.addresses da " +
-           "JOIN da.address a " +
-           "WHERE d.devotionalStatus = :status " +
-           "AND a.districtNameEnglish IN :districts")
-    long countByDevotionalStatusAndDistricts(@Param("status") DevotionalStatus status, @Param("districts") List<String> districts);
-    
     /**
      * Count devotees by districts
      */
@@ -207,16 +192,86 @@ public interface DevoteeRepository extends JpaRepository<Devotee, Long> {
      * Find devotees with specific initiation status
      */
     @Query("SELECT d FROM Devotee d WHERE d.harinamDate IS NOT NULL")
+    @EntityGraph(Devotee.LIST_GRAPH)
     List<Devotee> findInitiatedDevotees();
     
     /**
      * Find devotees by gender
      */
+    @EntityGraph(Devotee.LIST_GRAPH)
     Page<Devotee> findByGender(String gender, Pageable pageable);
     
     /**
      * Find devotees by namhatta and devotional status
      */
     @Query("SELECT d FROM Devotee d WHERE d.namhatta = :namhatta AND d.devotionalStatus.id = :statusId")
+    @EntityGraph(Devotee.LIST_GRAPH)
     Page<Devotee> findByNamhattaAndDevotionalStatusId(@Param("namhatta") Namhatta namhatta, @Param("statusId") Long statusId, Pageable pageable);
-}
\ No newline at end of file
+    
+    /**
+     * Count devotees per devotional status in one grouped query
+     * Returns status id and count
+     */
+    @Query("SELECT s.id, COUNT(d) FROM Devotee d " +
+           "JOIN d.devotionalStatus s " +
+           "GROUP BY s.id")
+    List<Object[]> countGroupedByStatus();
+    
+    /**
+     * Count devotees per devotional status within districts in one grouped query
+     * Returns status id and count
+     */
+    @Query("SELECT s.id, COUNT(DISTINCT d) FROM Devotee d " +
+           "JOIN d.devotionalStatus s " +
+           "JOIN d.addresses da " +
+           "JOIN da.address a " +
+           "WHERE a.districtNameEnglish IN :districts " +
+           "GROUP BY s.id")
+    List<Object[]> countGroupedByStatusAndDistricts(@Param("districts") List<String> districts);
+    
+    /**
+     * Stream devotee id, status id and district for every devotee address
+     * Devotees without status or address appear with nulls; used to rebuild in-memory counters
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT d.id, s.id, a.districtNameEnglish FROM Devotee d " +
+           "LEFT JOIN d.devotionalStatus s " +
+           "LEFT JOIN d.addresses da " +
+           "LEFT JOIN da.address a")
+    Stream<Object[]> streamStatusAndDistricts();
+    
+    /**
+     * Address links of a page of devotees for list projections
+     * Returns devotee id, link id, address type, landmark, then address id, country, state, district,
+     * sub-district, village and pincode
+     */
+    @Query("SELECT da.devotee.id, da.id, da.addressType, da.landmark, " +
+           "a.id, a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish, " +
+           "a.villageNameEnglish, a.pincode " +
+           "FROM DevoteeAddress da LEFT JOIN da.address a " +
+           "WHERE da.devotee.id IN :devoteeIds ORDER BY da.id")
+    List<Object[]> findAddressLinksByDevoteeIds(@Param("devoteeIds") Collection<Long> devoteeIds);
+    
+    /**
+     * Devotee count per namhatta for a page of namhattas in one grouped query
+     * Returns namhatta id and count
+     */
+    @Query("SELECT d.namhatta.id, COUNT(d) FROM Devotee d " +
+           "WHERE d.namhatta.id IN :namhattaIds " +
+           "GROUP BY d.namhatta.id")
+    List<Object[]> countGroupedByNamhatta(@Param("namhattaIds") Collection<Long> namhattaIds);
+    
+    /**
+     * Devotee count per namhatta id; namhattas without devotees are absent from the map
+     */
+    default Map<Long, Long> countByNamhattaIds(Collection<Long> namhattaIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (namhattaIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : countGroupedByNamhatta(namhattaIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +33,16 @@ public interface NamhattaAddressRepository extends JpaRepository<NamhattaAddress
      * Delete all addresses for a namhatta
      */
     void deleteByNamhatta(Namhatta namhatta);
+    
+    /**
+     * Address links of a page of namhattas for list projections
+     * Returns namhatta id, link id, address type, landmark, then address id, country, state, district,
+     * sub-district, village and pincode
+     */
+    @Query("SELECT na.namhatta.id, na.id, na.addressType, na.landmark, " +
+           "a.id, a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish, " +
+           "a.villageNameEnglish, a.pincode " +
+           "FROM NamhattaAddress na LEFT JOIN na.address a " +
+           "WHERE na.namhatta.id IN :namhattaIds ORDER BY na.id")
+    List<Object[]> findAddressLinksByNamhattaIds(@Param("namhattaIds") Collection<Long> namhattaIds);
 }
\ No newline at end of file
@@ -4,14 +4,19 @@ import com.namhatta.entity.Namhatta;
 import com.namhatta.entity.Shraddhakutir;
 import com.namhatta.entity.User;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 @Tag(name = "Namhatta Repository", description = "Data access operations for namhatta management")
@@ -97,32 +102,6 @@ public interface NamhattaRepository extends JpaRepository<Namhatta, Long> {
         """)
     long countActiveNamhattasInDistricts(@Param("districts") List<String> districts);
     
-    /**
-     * Get namhatta distribution by district for maps
-     */
-    @Query("""
-        SELECT a.districtNameEnglish, COUNT(DISTINCT n) 
-        FROM Namhatta n 
-        JOIN NamhattaAddress na ON na.namhatta = n
-        JOIN na.address a 
-        WHERE n.isApproved = true AND n.isActive = true
-        GROUP BY a.districtNameEnglish
-        """)
-    List<Object[]> getNamhattaCountByDistrict();
-    
-    /**
-     * Get namhatta distribution by state for maps
-     */
-    @Query("""
-        SELECT a.stateNameEnglish, COUNT(DISTINCT n) 
-        FROM Namhatta n 
-        JOIN NamhattaAddress na ON na.namhatta = n
-        JOIN na.address a 
-        WHERE n.isApproved = true AND n.isActive = true
-        GROUP BY a.stateNameEnglish
-        """)
-    List<Object[]> getNamhattaCountByState();
-    
     /**
      * Count namhattas by approval status
      */
@@ -151,30 +130,6 @@ public interface NamhattaRepository extends JpaRepository<Namhatta, Long> {
         """)
     long countByIsApprovedAndDistricts(@Param("isApproved") Boolean isApproved, @Param("districts") List<String> districts);
     
-    /**
-     * Count namhattas by sub-district
-     */
-    @Query("""
-        SELECT COUNT(DISTINCT n) FROM Namhatta n 
-        JOIN NamhattaAddress na ON na.namhatta = n
-        JOIN na.address a 
-        WHERE a.subdistrictNameEnglish = :subdistrict
-        AND n.isActive = true
-        """)
-    long countBySubdistrict(@Param("subdistrict") String subdistrict);
-    
-    /**
-     * Count namhattas by district
-     */
-    @Query("""
-        SELECT COUNT(DISTINCT n) FROM Namhatta n 
-        JOIN NamhattaAddress na ON na.namhatta = n
-        JOIN na.address a 
-        WHERE a.districtNameEnglish = :district
-        AND n.isActive = true
-        """)
-    long countByDistrict(@Param("district") String district);
-    
     /**
      * Get namhattas by sub-district with devotee count
      */
@@ -182,7 +137,7 @@ public interface NamhattaRepository extends JpaRepository<Namhatta, Long> {
         SELECT new map(
             n.id as id,
             n.name as name,
-            COALESCE(COUNT(d), 0) as devoteeCount
+            COUNT(DISTINCT d.id) as devoteeCount
         )
         FROM Namhatta n 
         LEFT JOIN n.devotees d
@@ -207,4 +162,50 @@ public interface NamhattaRepository extends JpaRepository<Namhatta, Long> {
         AND a.districtNameEnglish IS NOT NULL
         """)
     List<Object[]> getDistrictsBySupervisor(@Param("supervisor") User supervisor);
+    
+    /**
+     * Namhatta counts for every geographic level in one pass
+     * Returns country, state, district, sub-district, GROUPING() bitmask and count;
+     * the bitmask is 0 for sub-district rows, 1 district, 3 state, 7 country, 15 grand total
+     */
+    @Query(value = """
+        SELECT a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english,
+               GROUPING(a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english),
+               COUNT(DISTINCT n.id)
+        FROM namhattas n
+        JOIN namhatta_addresses na ON na.namhatta_id = n.id
+        JOIN addresses a ON a.id = na.address_id
+        WHERE n.is_approved = true AND n.is_active = true
+        GROUP BY ROLLUP (a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english)
+        """, nativeQuery = true)
+    List<Object[]> getNamhattaCountRollup();
+    
+    /**
+     * Namhatta counts for every geographic level in one pass, limited to the given districts
+     */
+    @Query(value = """
+        SELECT a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english,
+               GROUPING(a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english),
+               COUNT(DISTINCT n.id)
+        FROM namhattas n
+        JOIN namhatta_addresses na ON na.namhatta_id = n.id
+        JOIN addresses a ON a.id = na.address_id
+        WHERE n.is_approved = true AND n.is_active = true
+        AND a.district_name_english IN (:districts)
+        GROUP BY ROLLUP (a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english)
+        """, nativeQuery = true)
+    List<Object[]> getNamhattaCountRollupInDistricts(@Param("districts") List<String> districts);
+    
+    /**
+     * Stream every namhatta/location pair with approval and activity flags
+     * Used to rebuild the in-memory namhatta count cube
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+        SELECT n.id, n.isApproved, n.isActive, a.country, a.stateNameEnglish, a.districtNameEnglish, a.subdistrictNameEnglish
+        FROM Namhatta n
+        JOIN NamhattaAddress na ON na.namhatta = n
+        JOIN na.address a
+        """)
+    Stream<Object[]> streamNamhattaLocations();
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.namhatta.repository;
 import com.namhatta.entity.User;
 import com.namhatta.entity.UserRole;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,6 +26,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsernameAndIsActive(String username, Boolean isActive);
     
+    /**
+     * Find active user by username with districts fetched, for building a detached principal
+     */
+    @EntityGraph(attributePaths = "districts")
+    Optional<User> findWithDistrictsByUsernameAndIsActive(String username, Boolean isActive);
+    
     /**
      * Find all active users by role
      */
@@ -0,0 +1,23 @@
+package com.namhatta.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Read-only devotee or namhatta address link; same JSON shape as DevoteeAddressDto / NamhattaAddressDto
+ * ownerId is the devotee or namhatta id, used to group links and not serialized.
+ */
+public record AddressLinkView(@JsonIgnore Long ownerId,
+                              Long id,
+                              String addressType,
+                              String landmark,
+                              AddressView address) {
+
+    /**
+     * Build from an address link row: owner id, link id, type, landmark, address id, country ... pincode
+     */
+    public static AddressLinkView fromRow(Object[] row) {
+        AddressView address = row[4] == null ? null : new AddressView((Long) row[4], (String) row[5], (String) row[6],
+                (String) row[7], (String) row[8], (String) row[9], (String) row[10]);
+        return new AddressLinkView((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], address);
+    }
+}
@@ -0,0 +1,13 @@
+package com.namhatta.repository.projection;
+
+/**
+ * Read-only address columns for list views; same JSON shape as AddressDto
+ */
+public record AddressView(Long id,
+                          String country,
+                          String stateNameEnglish,
+                          String districtNameEnglish,
+                          String subdistrictNameEnglish,
+                          String villageNameEnglish,
+                          String pincode) {
+}
@@ -0,0 +1,29 @@
+package com.namhatta.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Devotee row for list endpoints, selected column by column without loading the entity
+ * Detail-only fields (dob, family, education, devotional courses) are served by GET /api/devotees/{id}.
+ */
+public record DevoteeListItem(Long id,
+                              String legalName,
+                              String name,
+                              String initiatedName,
+                              String email,
+                              String phone,
+                              String gender,
+                              Long namhattaId,
+                              String namhattaName,
+                              Long devotionalStatusId,
+                              String devotionalStatusName,
+                              List<AddressLinkView> addresses,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+
+    public DevoteeListItem withAddresses(List<AddressLinkView> links) {
+        return new DevoteeListItem(id, legalName, name, initiatedName, email, phone, gender, namhattaId, namhattaName,
+                devotionalStatusId, devotionalStatusName, List.copyOf(links), createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,136 @@
+package com.namhatta.repository.projection;
+
+import com.namhatta.entity.Devotee;
+import com.namhatta.repository.DevoteeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * DevoteeListReader - Read model for devotee list endpoints
+ * Selects only the list columns (plus namhatta and status names through left joins) into
+ * DevoteeListItem records, then attaches address links with one query per page. No Devotee
+ * entities are managed, so list reads skip the devotional courses converter and dirty checking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DevoteeListReader {
+
+    private final DevoteeRepository devoteeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one offset page of devotees matching the filter
+     */
+    public Page<DevoteeListItem> read(Specification<Devotee> filter, Pageable pageable) {
+        List<DevoteeListItem> items = select(filter, pageable.getSort(), pageable);
+        return new PageImpl<>(withAddresses(items), pageable, count(filter));
+    }
+
+    /**
+     * Read devotees by id, returned in the order of the ids (for ranked and keyset pages)
+     */
+    public List<DevoteeListItem> readByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, DevoteeListItem> byId = new HashMap<>();
+        for (DevoteeListItem item : select((root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), null)) {
+            byId.put(item.id(), item);
+        }
+        List<DevoteeListItem> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            DevoteeListItem item = byId.get(id);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return withAddresses(ordered);
+    }
+
+    private List<DevoteeListItem> select(Specification<Devotee> filter, Sort sort, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Devotee> root = query.from(Devotee.class);
+        Join<Object, Object> namhatta = root.join("namhatta", JoinType.LEFT);
+        Join<Object, Object> status = root.join("devotionalStatus", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id"), root.get("legalName"), root.get("name"), root.get("initiatedName"),
+                root.get("email"), root.get("phone"), root.get("gender"),
+                namhatta.get("id"), namhatta.get("name"), status.get("id"), status.get("name"),
+                root.get("createdAt"), root.get("updatedAt"));
+
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filtered != null) {
+            query.where(filtered);
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())));
+        }
+        if (!orders.isEmpty()) {
+            orders.add(cb.asc(root.get("id"))); // Stable order across pages for equal sort keys
+            query.orderBy(orders);
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable != null && pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<DevoteeListItem> items = new ArrayList<>();
+        for (Tuple row : typed.getResultList()) {
+            items.add(new DevoteeListItem(
+                    row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class), row.get(3, String.class),
+                    row.get(4, String.class), row.get(5, String.class), row.get(6, String.class),
+                    row.get(7, Long.class), row.get(8, String.class), row.get(9, Long.class), row.get(10, String.class),
+                    List.of(), row.get(11, LocalDateTime.class), row.get(12, LocalDateTime.class)));
+        }
+        return items;
+    }
+
+    private long count(Specification<Devotee> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Devotee> root = query.from(Devotee.class);
+        query.select(cb.count(root));
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filtered != null) {
+            query.where(filtered);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<DevoteeListItem> withAddresses(List<DevoteeListItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Long, List<AddressLinkView>> links = new HashMap<>();
+        List<Long> ids = items.stream().map(DevoteeListItem::id).toList();
+        for (Object[] row : devoteeRepository.findAddressLinksByDevoteeIds(ids)) {
+            AddressLinkView link = AddressLinkView.fromRow(row);
+            links.computeIfAbsent(link.ownerId(), id -> new ArrayList<>()).add(link);
+        }
+        log.debug("Loaded address links for {} devotees", items.size());
+        return items.stream()
+                .map(item -> item.withAddresses(links.getOrDefault(item.id(), List.of())))
+                .toList();
+    }
+}
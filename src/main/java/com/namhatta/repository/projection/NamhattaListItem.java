@@ -0,0 +1,34 @@
+package com.namhatta.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Namhatta row for list endpoints, selected column by column without loading the entity
+ * devoteeCount comes from one grouped count per page.
+ */
+public record NamhattaListItem(Long id,
+                               String name,
+                               String contactPerson,
+                               String contactPhone,
+                               String contactEmail,
+                               String regularProgramDay,
+                               String regularProgramTime,
+                               Boolean isApproved,
+                               Boolean isActive,
+                               String status,
+                               Long shraddhakutirId,
+                               String shraddhakutirName,
+                               Long districtSupervisorId,
+                               String districtSupervisorName,
+                               List<AddressLinkView> addresses,
+                               Long devoteeCount,
+                               LocalDateTime createdAt,
+                               LocalDateTime updatedAt) {
+
+    public NamhattaListItem withDetails(List<AddressLinkView> links, long count) {
+        return new NamhattaListItem(id, name, contactPerson, contactPhone, contactEmail, regularProgramDay,
+                regularProgramTime, isApproved, isActive, status, shraddhakutirId, shraddhakutirName,
+                districtSupervisorId, districtSupervisorName, List.copyOf(links), count, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,160 @@
+package com.namhatta.repository.projection;
+
+import com.namhatta.entity.Namhatta;
+import com.namhatta.repository.DevoteeRepository;
+import com.namhatta.repository.NamhattaAddressRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * NamhattaListReader - Read model for namhatta list endpoints
+ * Selects only the list columns into NamhattaListItem records, then attaches address links and
+ * devotee counts with one query each per page; no Namhatta entities or devotee collections are loaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NamhattaListReader {
+
+    private final NamhattaAddressRepository namhattaAddressRepository;
+    private final DevoteeRepository devoteeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one offset page of namhattas matching the filter
+     */
+    public Page<NamhattaListItem> read(Specification<Namhatta> filter, Pageable pageable) {
+        List<NamhattaListItem> items = select(filter, pageable.getSort(), pageable);
+        return new PageImpl<>(withDetails(items), pageable, count(filter));
+    }
+
+    /**
+     * Read namhattas by id, returned in the order of the ids (for keyset pages)
+     */
+    public List<NamhattaListItem> readByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, NamhattaListItem> byId = new HashMap<>();
+        for (NamhattaListItem item : select((root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), null)) {
+            byId.put(item.id(), item);
+        }
+        List<NamhattaListItem> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            NamhattaListItem item = byId.get(id);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return withDetails(ordered);
+    }
+
+    private List<NamhattaListItem> select(Specification<Namhatta> filter, Sort sort, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Namhatta> root = query.from(Namhatta.class);
+        Join<Object, Object> shraddhakutir = root.join("shraddhakutir", JoinType.LEFT);
+        Join<Object, Object> supervisor = root.join("districtSupervisor", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id"), root.get("name"), root.get("contactPerson"), root.get("contactPhone"),
+                root.get("contactEmail"), root.get("regularProgramDay"), root.get("regularProgramTime"),
+                root.get("isApproved"), root.get("isActive"),
+                shraddhakutir.get("id"), shraddhakutir.get("name"), supervisor.get("id"), supervisor.get("username"),
+                root.get("createdAt"), root.get("updatedAt"));
+
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filtered != null) {
+            query.where(filtered);
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending() ? cb.asc(root.get(order.getProperty())) : cb.desc(root.get(order.getProperty())));
+        }
+        if (!orders.isEmpty()) {
+            orders.add(cb.asc(root.get("id"))); // Stable order across pages for equal sort keys
+            query.orderBy(orders);
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable != null && pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<NamhattaListItem> items = new ArrayList<>();
+        for (Tuple row : typed.getResultList()) {
+            Boolean approved = row.get(7, Boolean.class);
+            Boolean active = row.get(8, Boolean.class);
+            Integer shraddhakutirId = row.get(9, Integer.class);
+            items.add(new NamhattaListItem(
+                    row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class), row.get(3, String.class),
+                    row.get(4, String.class), row.get(5, String.class), row.get(6, String.class),
+                    approved, active, status(approved, active),
+                    shraddhakutirId != null ? Long.valueOf(shraddhakutirId) : null, row.get(10, String.class),
+                    row.get(11, Long.class), row.get(12, String.class),
+                    List.of(), 0L, row.get(13, LocalDateTime.class), row.get(14, LocalDateTime.class)));
+        }
+        return items;
+    }
+
+    private long count(Specification<Namhatta> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Namhatta> root = query.from(Namhatta.class);
+        query.select(cb.count(root));
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filtered != null) {
+            query.where(filtered);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<NamhattaListItem> withDetails(List<NamhattaListItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        List<Long> ids = items.stream().map(NamhattaListItem::id).toList();
+
+        Map<Long, List<AddressLinkView>> links = new HashMap<>();
+        for (Object[] row : namhattaAddressRepository.findAddressLinksByNamhattaIds(ids)) {
+            AddressLinkView link = AddressLinkView.fromRow(row);
+            links.computeIfAbsent(link.ownerId(), id -> new ArrayList<>()).add(link);
+        }
+        Map<Long, Long> devoteeCounts = devoteeRepository.countByNamhattaIds(ids);
+
+        log.debug("Loaded address links and devotee counts for {} namhattas", items.size());
+        return items.stream()
+                .map(item -> item.withDetails(links.getOrDefault(item.id(), List.of()),
+                        devoteeCounts.getOrDefault(item.id(), 0L)))
+                .toList();
+    }
+
+    /**
+     * Same rules as NamhattaMapper.determineStatus
+     */
+    private static String status(Boolean approved, Boolean active) {
+        if (!Boolean.TRUE.equals(active)) {
+            return "INACTIVE";
+        }
+        if (!Boolean.TRUE.equals(approved)) {
+            return "PENDING_APPROVAL";
+        }
+        return "APPROVED";
+    }
+}
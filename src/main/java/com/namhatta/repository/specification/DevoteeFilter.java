@@ -0,0 +1,122 @@
+package com.namhatta.repository.specification;
+
+import com.namhatta.entity.Devotee;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * DevoteeFilter - The filterable devotee fields, combined into one Specification
+ * Each field set adds one predicate; unset fields add nothing. Every predicate is index-friendly:
+ * foreign keys are compared by id (no join), district scope is an EXISTS probe rather than a
+ * DISTINCT join, and search goes through the trigram document when the index is installed.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DevoteeFilter {
+
+    /**
+     * Properties devotee lists may be sorted by
+     */
+    public static final Set<String> SORTABLE = Set.of("name", "legalName", "initiatedName", "createdAt", "updatedAt", "id");
+
+    /**
+     * The SQL condition of a filter that adds no predicate
+     */
+    public static final String MATCH_ALL = "true";
+
+    List<String> districts; // null means unrestricted; an empty list matches nothing
+    String status; // Status name from the legacy status parameter; DevoteeService resolves it to statusId
+    Long statusId;
+    String gender;
+    Long namhattaId;
+    Integer shraddhakutirId;
+    Boolean initiated;
+    String search;
+
+    /**
+     * Whether the ranked search query can serve this filter; it only understands districts and status
+     */
+    public boolean isRankable() {
+        return hasText(search) && gender == null && namhattaId == null && shraddhakutirId == null && initiated == null;
+    }
+
+    public boolean hasSearch() {
+        return hasText(search);
+    }
+
+    public Specification<Devotee> toSpecification(boolean useSearchIndex) {
+        Specification<Devotee> filter = Specification.where(null);
+        if (districts != null) {
+            filter = filter.and(DevoteeSpecifications.inDistricts(districts));
+        }
+        if (statusId != null) {
+            filter = filter.and(DevoteeSpecifications.hasStatusId(statusId));
+        }
+        if (hasText(gender)) {
+            filter = filter.and(DevoteeSpecifications.hasGender(gender.trim()));
+        }
+        if (namhattaId != null) {
+            filter = filter.and(DevoteeSpecifications.inNamhatta(namhattaId));
+        }
+        if (shraddhakutirId != null) {
+            filter = filter.and(DevoteeSpecifications.inShraddhakutir(shraddhakutirId));
+        }
+        if (initiated != null) {
+            filter = filter.and(DevoteeSpecifications.isInitiated(initiated));
+        }
+        if (hasText(search)) {
+            filter = filter.and(DevoteeSpecifications.matchesSearch(search, useSearchIndex));
+        }
+        return filter;
+    }
+
+    /**
+     * The same filter as a SQL condition on devotees aliased d, for set-based statements
+     * Parameters are added to params with a "filter" prefix. Search is not supported here.
+     */
+    public String toSqlCondition(MapSqlParameterSource params) {
+        if (hasText(search)) {
+            throw new IllegalStateException("Search filters cannot be expressed as a SQL condition");
+        }
+        StringBuilder condition = new StringBuilder(MATCH_ALL);
+        if (districts != null && districts.isEmpty()) {
+            condition.append(" AND false");
+        } else if (districts != null) {
+            condition.append(" AND EXISTS (SELECT 1 FROM devotee_addresses fda JOIN addresses fa ON fa.id = fda.address_id")
+                    .append(" WHERE fda.devotee_id = d.id AND fa.district_name_english IN (:filterDistricts))");
+            params.addValue("filterDistricts", districts);
+        }
+        if (statusId != null) {
+            condition.append(" AND d.devotional_status_id = :filterStatusId");
+            params.addValue("filterStatusId", statusId);
+        }
+        if (hasText(gender)) {
+            condition.append(" AND LOWER(d.gender) = :filterGender");
+            params.addValue("filterGender", gender.trim().toLowerCase(Locale.ROOT));
+        }
+        if (namhattaId != null) {
+            condition.append(" AND d.namhatta_id = :filterNamhattaId");
+            params.addValue("filterNamhattaId", namhattaId);
+        }
+        if (shraddhakutirId != null) {
+            condition.append(" AND d.shraddhakutir_id = :filterShraddhakutirId");
+            params.addValue("filterShraddhakutirId", shraddhakutirId);
+        }
+        if (initiated != null) {
+            condition.append(initiated
+                    ? " AND d.initiated_name IS NOT NULL AND d.initiated_name <> ''"
+                    : " AND (d.initiated_name IS NULL OR d.initiated_name = '')");
+        }
+        return condition.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.namhatta.repository.specification;
+
+import com.namhatta.entity.Devotee;
+import com.namhatta.entity.DevoteeAddress;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composable devotee filters for criteria-based list queries; combined by DevoteeFilter
+ */
+public final class DevoteeSpecifications {
+
+    private DevoteeSpecifications() {
+    }
+
+    /**
+     * Devotees with at least one address in the districts; an EXISTS probe, so no DISTINCT is needed
+     */
+    public static Specification<Devotee> inDistricts(List<String> districts) {
+        return (root, query, cb) -> {
+            if (districts.isEmpty()) {
+                return cb.disjunction();
+            }
+            Subquery<Long> addresses = query.subquery(Long.class);
+            var devoteeAddress = addresses.from(DevoteeAddress.class);
+            addresses.select(devoteeAddress.get("id"))
+                    .where(cb.equal(devoteeAddress.get("devotee"), root),
+                            devoteeAddress.get("address").get("districtNameEnglish").in(districts));
+            return cb.exists(addresses);
+        };
+    }
+
+    /**
+     * Devotees with the devotional status; compares the foreign key, so devotional_statuses is not joined
+     */
+    public static Specification<Devotee> hasStatusId(Long statusId) {
+        return (root, query, cb) -> cb.equal(root.get("devotionalStatus").get("id"), statusId);
+    }
+    
+    /**
+     * Devotees of the gender, ignoring case
+     */
+    public static Specification<Devotee> hasGender(String gender) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("gender")), gender.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Devotees attending the namhatta
+     */
+    public static Specification<Devotee> inNamhatta(Long namhattaId) {
+        return (root, query, cb) -> cb.equal(root.get("namhatta").get("id"), namhattaId);
+    }
+    
+    /**
+     * Devotees of the shraddhakutir
+     */
+    public static Specification<Devotee> inShraddhakutir(Integer shraddhakutirId) {
+        return (root, query, cb) -> cb.equal(root.get("shraddhakutir").get("id"), shraddhakutirId);
+    }
+    
+    /**
+     * Devotees with (or without) an initiated name
+     */
+    public static Specification<Devotee> isInitiated(boolean initiated) {
+        return (root, query, cb) -> {
+            var initiatedName = root.<String>get("initiatedName");
+            var hasName = cb.and(cb.isNotNull(initiatedName), cb.notEqual(initiatedName, ""));
+            return initiated ? hasName : cb.not(hasName);
+        };
+    }
+
+    /**
+     * Case-insensitive substring match on legal name, name, initiated name, email and phone
+     * With the trigram index installed, the match goes through devotee_search_document() so it is index-backed
+     */
+    public static Specification<Devotee> matchesSearch(String search, boolean useSearchIndex) {
+        String pattern = "%" + search.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> {
+            if (useSearchIndex) {
+                Expression<String> document = cb.function("devotee_search_document", String.class,
+                        root.get("legalName"), root.get("name"), root.get("initiatedName"), root.get("email"), root.get("phone"));
+                return cb.like(document, pattern, '\\');
+            }
+            return cb.or(
+                    cb.like(cb.lower(root.get("legalName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("initiatedName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("phone")), pattern, '\\'));
+        };
+    }
+}
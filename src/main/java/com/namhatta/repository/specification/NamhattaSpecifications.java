@@ -0,0 +1,60 @@
+package com.namhatta.repository.specification;
+
+import com.namhatta.entity.Namhatta;
+import com.namhatta.entity.NamhattaAddress;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composable namhatta filters for criteria-based queries (keyset pagination)
+ */
+public final class NamhattaSpecifications {
+
+    private NamhattaSpecifications() {
+    }
+
+    /**
+     * Namhattas with at least one address in the districts; an EXISTS probe, so no DISTINCT is needed
+     */
+    public static Specification<Namhatta> inDistricts(List<String> districts) {
+        return (root, query, cb) -> {
+            if (districts.isEmpty()) {
+                return cb.disjunction();
+            }
+            Subquery<Long> addresses = query.subquery(Long.class);
+            var namhattaAddress = addresses.from(NamhattaAddress.class);
+            addresses.select(namhattaAddress.get("id"))
+                    .where(cb.equal(namhattaAddress.get("namhatta"), root),
+                            namhattaAddress.get("address").get("districtNameEnglish").in(districts));
+            return cb.exists(addresses);
+        };
+    }
+
+    /**
+     * Namhattas with the given ids; an empty list matches nothing
+     */
+    public static Specification<Namhatta> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Namhatta> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Namhatta> isApproved(boolean approved) {
+        return (root, query, cb) -> cb.equal(root.get("isApproved"), approved);
+    }
+
+    /**
+     * Case-insensitive substring match on the namhatta name
+     */
+    public static Specification<Namhatta> nameContains(String search) {
+        String pattern = "%" + search.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+}
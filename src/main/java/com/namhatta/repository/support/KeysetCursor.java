@@ -0,0 +1,32 @@
+package com.namhatta.repository.support;
+
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the sort key value and the id tiebreak
+ * Encoded as an opaque URL-safe token; the sort it was issued for travels with it so a
+ * cursor cannot be replayed against a different ordering.
+ */
+public record KeysetCursor(String sort, boolean descending, String key, long id) {
+
+    public String encode() {
+        String raw = sort + "\n" + (descending ? "desc" : "asc") + "\n" + id + "\n" + (key == null ? "" : key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new KeysetCursor(parts[0], "desc".equals(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.namhatta.repository.support;
+
+import java.util.List;
+
+/**
+ * One keyset page; nextCursor is null on the last page and total is null unless requested
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor, Long total) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.namhatta.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * KeysetPageReader - Seek pagination over any entity with a Long id
+ * Pages are read with WHERE (sortKey, id) > (lastKey, lastId) ORDER BY sortKey, id LIMIT size + 1,
+ * so each page costs the same regardless of depth and needs no OFFSET scan. Null sort keys are
+ * ordered as the lowest value so the (key, id) order is total. The count query only runs on request.
+ * Only ids are selected; callers load the rows they need for those ids.
+ */
+@Component
+@Slf4j
+public class KeysetPageReader {
+
+    private static final LocalDateTime NULL_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read the ids of the page following the cursor (or the first page when after is null)
+     * sort must be one of sortableProperties; String, LocalDateTime and numeric properties are supported
+     */
+    public <T> KeysetPage<Long> read(Class<T> type, Specification<T> filter, String sort, boolean descending,
+                                  Set<String> sortableProperties, String after, int size, boolean includeTotal) {
+        if (!sortableProperties.contains(sort)) {
+            throw new ValidationException("Cursor pagination supports sortBy " + sortableProperties);
+        }
+        if (size <= 0) {
+            throw new ValidationException("size must be positive");
+        }
+        KeysetCursor cursor = after == null || after.isBlank() ? null : KeysetCursor.decode(after);
+        if (cursor != null && (!cursor.sort().equals(sort) || cursor.descending() != descending)) {
+            throw new ValidationException("Cursor was issued for a different sort order");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        SortKey<?> key = sortKey(cb, root, sort);
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filtered != null) {
+            predicates.add(filtered);
+        }
+        if (cursor != null) {
+            predicates.add(key.after(cb, cursor.key(), id, cursor.id(), descending));
+        }
+
+        query.multiselect(key.expression(), id)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(descending
+                        ? List.of(cb.desc(key.expression()), cb.desc(id))
+                        : List.of(cb.asc(key.expression()), cb.asc(id)));
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+
+        List<Long> content = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            content.add((Long) rows.get(i).get(1));
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            Tuple last = rows.get(size - 1);
+            nextCursor = new KeysetCursor(sort, descending, String.valueOf(last.get(0)), (Long) last.get(1)).encode();
+        }
+
+        Long total = includeTotal ? count(type, filter) : null;
+        log.debug("Keyset page of {} sorted by {} {}: {} rows, more: {}",
+                type.getSimpleName(), sort, descending ? "desc" : "asc", content.size(), nextCursor != null);
+        return new KeysetPage<>(content, nextCursor, total);
+    }
+
+    private <T> long count(Class<T> type, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate filtered = filter == null ? null : filter.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (filtered != null) {
+            query.where(filtered);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked") // the path's Java type is checked before each cast
+    private static SortKey<?> sortKey(CriteriaBuilder cb, Root<?> root, String sort) {
+        Path<?> path = root.get(sort);
+        Class<?> javaType = path.getJavaType();
+        // Literals rather than bound values, so the expression matches the keyset indexes (add-devotee-filter-indexes.sql)
+        if (String.class.equals(javaType)) {
+            return new SortKey<>(cb.coalesce((Expression<String>) path, cb.literal("")), value -> value);
+        }
+        if (LocalDateTime.class.equals(javaType)) {
+            return new SortKey<>(cb.coalesce((Expression<LocalDateTime>) path, cb.literal(NULL_TIMESTAMP)),
+                    LocalDateTime::parse);
+        }
+        if (Long.class.equals(javaType)) {
+            return new SortKey<>((Expression<Long>) path, Long::valueOf);
+        }
+        throw new ValidationException("Cursor pagination is not supported for sortBy " + sort);
+    }
+
+    /**
+     * The sort expression and how to read its cursor value back, typed so the seek predicate needs no raw types
+     */
+    private record SortKey<K extends Comparable<? super K>>(Expression<K> expression, Function<String, K> parser) {
+
+        Predicate after(CriteriaBuilder cb, String value, Path<Long> id, Long lastId, boolean descending) {
+            K lastKey;
+            try {
+                lastKey = parser.apply(value);
+            } catch (RuntimeException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return descending
+                    ? cb.or(cb.lessThan(expression, lastKey), cb.and(cb.equal(expression, lastKey), cb.lessThan(id, lastId)))
+                    : cb.or(cb.greaterThan(expression, lastKey), cb.and(cb.equal(expression, lastKey), cb.greaterThan(id, lastId)));
+        }
+    }
+}
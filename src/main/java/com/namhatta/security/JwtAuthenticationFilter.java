@@ -5,13 +5,13 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.namhatta.service.DistrictScopeResolver;
 import com.namhatta.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,8 +24,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
     private final SessionService sessionService;
+    private final DistrictScopeResolver districtScopeResolver;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,14 +35,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String token = getTokenFromRequest(request);
+            JwtClaims claims = token != null ? tokenProvider.parseToken(token) : null;
             
-            if (token != null && tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsernameFromToken(token);
-                String sessionToken = tokenProvider.getSessionTokenFromToken(token);
+            if (claims != null) {
+                String username = claims.username();
+                String sessionToken = claims.sessionToken();
                 
                 // Validate session (enforces single login like Node.js)
                 if (sessionToken != null && sessionService.isSessionValid(username, sessionToken)) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = userDetailsService.loadPrincipal(claims.userId(), username);
                 
                     if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authentication =
@@ -51,11 +53,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         
                         // Add user info to request for controllers
                         request.setAttribute("currentUser", userDetails);
-                        request.setAttribute("userId", tokenProvider.getUserIdFromToken(token));
-                        request.setAttribute("userRole", tokenProvider.getRoleFromToken(token));
+                        request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+                        request.setAttribute("userId", claims.userId());
+                        request.setAttribute("userRole", claims.role());
+                        if ("DISTRICT_SUPERVISOR".equals(claims.role())) {
+                            request.setAttribute("userDistricts", districtScopeResolver.districtsFor(claims.userId()));
+                        }
                         
-                        log.trace("Successfully authenticated user: {} with role: {}", 
-                                 username, tokenProvider.getRoleFromToken(token));
+                        log.trace("Successfully authenticated user: {} with role: {}", username, claims.role());
                     }
                 } else {
                     log.debug("Invalid session for user: {}", username);
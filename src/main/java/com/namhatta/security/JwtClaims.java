@@ -0,0 +1,43 @@
+package com.namhatta.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Date;
+
+/**
+ * Typed claims of a verified auth token
+ * JwtAuthenticationFilter stores them on the request under REQUEST_ATTRIBUTE, so the token is
+ * verified once per request and controllers read claims without parsing it again.
+ * The request attribute is the request-scoped holder: Spring's request scope keeps its beans in the
+ * same attributes, so a @RequestScope bean would add a proxy per access without a shorter lifetime, and
+ * the attribute is also readable from filters that run outside the DispatcherServlet (RateLimitFilter).
+ */
+public record JwtClaims(String username,
+                        Long userId,
+                        String role,
+                        String sessionToken,
+                        Date expiration) {
+
+    public static final String REQUEST_ATTRIBUTE = "jwtClaims";
+
+    static JwtClaims of(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("role", String.class),
+                claims.get("sessionToken", String.class),
+                claims.getExpiration());
+    }
+
+    /**
+     * Claims the filter verified for this request, or null for anonymous requests
+     */
+    public static JwtClaims from(HttpServletRequest request) {
+        return (JwtClaims) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -1,8 +1,10 @@
 package com.namhatta.security;
 
 import com.namhatta.entity.User;
+import com.namhatta.util.BoundedCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -11,6 +13,12 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
 
+/**
+ * JwtTokenProvider - Issues and verifies auth tokens
+ * The HMAC key and the parser are built once; both are immutable and thread-safe. Verified tokens
+ * are remembered for a short time (jwt.claims-cache-ttl-ms, never past their expiry), so repeat
+ * requests with the same token skip signature verification.
+ */
 @Component
 @Slf4j
 public class JwtTokenProvider {
@@ -21,8 +29,30 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
+    @Value("${jwt.claims-cache-ttl-ms:30000}")
+    private long claimsCacheTtlMs;
+    
+    @Value("${jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private BoundedCache<String, VerifiedToken> verifiedTokens;
+    
+    private record VerifiedToken(JwtClaims claims, long cachedUntil) {
+    }
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+            .setSigningKey(signingKey)
+            .build();
+        verifiedTokens = new BoundedCache<>(Math.max(claimsCacheSize, 1));
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     public String createToken(User user, String sessionToken) {
@@ -42,42 +72,43 @@ public class JwtTokenProvider {
             .compact();
     }
     
+    /**
+     * Verify the token once and return its claims, or null when it is invalid or expired
+     */
+    public JwtClaims parseToken(String token) {
+        long now = System.currentTimeMillis();
+        if (claimsCacheTtlMs > 0) {
+            VerifiedToken cached = verifiedTokens.get(token);
+            if (cached != null && cached.cachedUntil() > now) {
+                return cached.claims();
+            }
+        }
+        
+        Claims claims = parse(token);
+        if (claims == null) {
+            return null;
+        }
+        JwtClaims jwtClaims = JwtClaims.of(claims);
+        if (claimsCacheTtlMs > 0) {
+            long cachedUntil = now + claimsCacheTtlMs;
+            if (claims.getExpiration() != null) {
+                cachedUntil = Math.min(cachedUntil, claims.getExpiration().getTime());
+            }
+            verifiedTokens.put(token, new VerifiedToken(jwtClaims, cachedUntil));
+        }
+        return jwtClaims;
+    }
+    
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-        return claims.getSubject();
+        return getClaimsFromToken(token).getSubject();
     }
     
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
-        }
-        return false;
+        return parse(token) != null;
     }
     
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
     public boolean isTokenExpired(String token) {
@@ -104,4 +135,23 @@ public class JwtTokenProvider {
         Claims claims = getClaimsFromToken(token);
         return claims.get("sessionToken", String.class);
     }
-}
\ No newline at end of file
+    
+    private Claims parse(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (SecurityException ex) {
+            log.error("Invalid JWT signature");
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("JWT verification failed: {}", ex.getMessage());
+        }
+        return null;
+    }
+}
@@ -1,9 +1,11 @@
 package com.namhatta.security;
 
+import com.namhatta.config.ApplicationProperties;
 import com.namhatta.entity.User;
 import com.namhatta.entity.UserRole;
+import com.namhatta.event.UserChangedEvent;
 import com.namhatta.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.namhatta.util.BoundedCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,30 +13,95 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Loads user principals for authentication
+ * Principals of authenticated tokens are cached by user id for app.sessions.principal-cache-ttl-ms and
+ * dropped when the user is written or their sessions are revoked, so authenticated requests do not look
+ * up the user. A change made through another instance is seen here after at most the TTL.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserDetailsServiceImpl implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final ApplicationProperties applicationProperties;
+    private final BoundedCache<Long, CachedPrincipal> principals;
+    
+    private record CachedPrincipal(UserPrincipal principal, long validUntil) {
+    }
+    
+    public UserDetailsServiceImpl(UserRepository userRepository, ApplicationProperties applicationProperties) {
+        this.userRepository = userRepository;
+        this.applicationProperties = applicationProperties;
+        this.principals = new BoundedCache<>(applicationProperties.getSessions().getPrincipalCacheSize());
+    }
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Loading user details for username: {}", username);
         
-        User user = userRepository.findByUsernameAndIsActive(username, true)
+        User user = userRepository.findWithDistrictsByUsernameAndIsActive(username, true)
             .orElseThrow(() -> {
                 log.warn("User not found or not active: {}", username);
                 return new UsernameNotFoundException("User not found: " + username);
             });
         
         log.debug("Found active user: {} with role: {}", username, user.getRole());
-        return new UserPrincipal(user);
+        return new UserPrincipal(detach(user));
+    }
+    
+    /**
+     * Principal for an authenticated token, served from the cache when the token's user id is known
+     */
+    public UserDetails loadPrincipal(Long userId, String username) throws UsernameNotFoundException {
+        if (userId == null) {
+            return loadUserByUsername(username);
+        }
+        
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(userId);
+        if (cached != null && cached.validUntil() > now && cached.principal().getUsername().equals(username)) {
+            return cached.principal();
+        }
+        
+        UserPrincipal principal = (UserPrincipal) loadUserByUsername(username);
+        long ttl = applicationProperties.getSessions().getPrincipalCacheTtlMs();
+        if (ttl > 0 && userId.equals(principal.getId())) {
+            principals.put(userId, new CachedPrincipal(principal, now + ttl));
+        }
+        return principal;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            principals.invalidate(event.userId());
+        }
+        if (event.username() != null) {
+            principals.invalidateIf(cached -> cached.principal().getUsername().equals(event.username()));
+        }
+    }
+    
+    /**
+     * Copy of the user with its districts in a plain list, safe to share once the session is closed
+     */
+    private static User detach(User user) {
+        return User.builder()
+            .id(user.getId())
+            .username(user.getUsername())
+            .passwordHash(user.getPasswordHash())
+            .role(user.getRole())
+            .isActive(user.getIsActive())
+            .createdAt(user.getCreatedAt())
+            .districts(List.copyOf(user.getDistricts()))
+            .build();
     }
     
     /**
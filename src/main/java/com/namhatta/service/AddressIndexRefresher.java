@@ -0,0 +1,79 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.AddressDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AddressIndexRefresher - Keeps the in-memory geographic indexes in sync with the addresses table
+ * Loads them once the application is ready and rebuilds them after committed address writes.
+ * Concurrent change notifications are coalesced into a single follow-up rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AddressIndexRefresher {
+
+    private final GeographicHierarchyIndex hierarchyIndex;
+    private final PincodeIndex pincodeIndex;
+    private final ApplicationProperties applicationProperties;
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean(false);
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean(false);
+
+    /**
+     * Initial load on startup
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!applicationProperties.getGeographic().isIndexEnabled()) {
+            log.info("Geographic indexes disabled, serving dropdowns and pincodes from the database");
+            return;
+        }
+        requestRebuild();
+    }
+
+    /**
+     * Rebuild after an address write commits, unless the path and pincode are already indexed
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAddressDataChanged(AddressDataChangedEvent event) {
+        if (!applicationProperties.getGeographic().isIndexEnabled()) {
+            return;
+        }
+        if (hierarchyIndex.contains(event.country(), event.state(), event.district(),
+                event.subdistrict(), event.village())
+                && (event.pincode() == null || pincodeIndex.contains(event.country(), event.pincode()))) {
+            return;
+        }
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        rebuildRequested.set(true);
+        // Whoever holds the running flag picks up requests made while it was rebuilding. The request flag
+        // is re-checked after the running flag is released, so a request that lands between the last
+        // check and the release starts another pass here instead of being dropped.
+        while (rebuildRequested.get() && rebuildRunning.compareAndSet(false, true)) {
+            try {
+                rebuildRequested.set(false);
+                hierarchyIndex.rebuild();
+                pincodeIndex.rebuild();
+            } catch (Exception e) {
+                log.error("Error rebuilding geographic indexes", e);
+            } finally {
+                rebuildRunning.set(false);
+            }
+        }
+    }
+}
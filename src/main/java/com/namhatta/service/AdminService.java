@@ -2,11 +2,13 @@ package com.namhatta.service;
 
 import com.namhatta.entity.User;
 import com.namhatta.entity.UserRole;
+import com.namhatta.event.UserChangedEvent;
 import com.namhatta.repository.UserRepository;
 import com.namhatta.repository.NamhattaRepository;
 import com.namhatta.repository.AddressRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +38,8 @@ public class AdminService {
     private final PasswordEncoder passwordEncoder;
     private final NamhattaRepository namhattaRepository;
     private final AddressRepository addressRepository;
+    private final DistrictScopeResolver districtScopeResolver;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get users with pagination and search
@@ -117,6 +121,7 @@ public class AdminService {
                 .build();
             
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getUsername()));
             
             log.info("Successfully created user: {} with role: {}", username, role);
             return convertUserToMap(savedUser);
@@ -171,6 +176,7 @@ public class AdminService {
             // This ensures supervisors are assigned to districts through their supervised namhattas
             
             User savedSupervisor = userRepository.save(supervisor);
+            eventPublisher.publishEvent(new UserChangedEvent(savedSupervisor.getId(), savedSupervisor.getUsername()));
             
             Map<String, Object> result = convertUserToMap(savedSupervisor);
             result.put("districts", districts); // Add districts to response
@@ -301,12 +307,7 @@ public class AdminService {
      */
     private List<String> getSupervisorDistricts(User supervisor) {
         try {
-            List<Object[]> districtData = namhattaRepository.getDistrictsBySupervisor(supervisor);
-            return districtData.stream()
-                .map(row -> (String) row[0])
-                .filter(district -> district != null && !district.trim().isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+            return districtScopeResolver.districtsFor(supervisor.getId());
         } catch (Exception e) {
             log.warn("Error getting districts for supervisor {}: {}", supervisor.getUsername(), e.getMessage());
             return List.of();
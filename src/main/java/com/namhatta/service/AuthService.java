@@ -7,7 +7,6 @@ import com.namhatta.dto.UserDto;
 import com.namhatta.entity.User;
 import com.namhatta.entity.UserRole;
 import com.namhatta.repository.UserRepository;
-import com.namhatta.repository.NamhattaRepository;
 import com.namhatta.security.JwtTokenProvider;
 
 import java.util.List;
@@ -34,7 +33,7 @@ public class AuthService {
     private final SessionService sessionService;
     private final JwtTokenProvider tokenProvider;
     private final PasswordEncoder passwordEncoder;
-    private final NamhattaRepository namhattaRepository;
+    private final DistrictScopeResolver districtScopeResolver;
     
     /**
      * Authenticate user with username and password
@@ -155,15 +154,12 @@ public class AuthService {
     private List<DistrictDto> getUserDistricts(User user) {
         try {
             if (user.getRole() == UserRole.DISTRICT_SUPERVISOR) {
-                List<Object[]> districtData = namhattaRepository.getDistrictsBySupervisor(user);
-                return districtData.stream()
-                    .map(row -> {
-                        String districtName = (String) row[0];
-                        return DistrictDto.builder()
-                            .code(districtName)
-                            .name(districtName)
-                            .build();
-                    })
+                // Resolving here at login also warms the scope used by the request filter
+                return districtScopeResolver.districtsFor(user.getId()).stream()
+                    .map(districtName -> DistrictDto.builder()
+                        .code(districtName)
+                        .name(districtName)
+                        .build())
                     .collect(Collectors.toList());
             } else {
                 // Admin/Office users don't have specific district restrictions
@@ -0,0 +1,163 @@
+package com.namhatta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.namhatta.dto.CourseCountDto;
+import com.namhatta.dto.PagedResponse;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.repository.projection.DevoteeListReader;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CourseService - Course catalog and course queries over devotees.devotional_courses
+ * Courses are matched in SQL: catalog counts expand the jsonb arrays, and per-course lookups use
+ * jsonb containment (@>), which idx_devotees_courses serves. No Devotee entities are loaded.
+ * District supervisors only see devotees from their districts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseService {
+
+    private static final String COURSES = """
+            CROSS JOIN LATERAL jsonb_array_elements(
+                CASE WHEN jsonb_typeof(d.devotional_courses) = 'array' THEN d.devotional_courses ELSE '[]'::jsonb END) c
+            """;
+
+    private static final String DISTRICT_SCOPE = """
+             AND EXISTS (SELECT 1 FROM devotee_addresses sda JOIN addresses sa ON sa.id = sda.address_id
+                         WHERE sda.devotee_id = d.id AND sa.district_name_english IN (:districts))
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DevoteeListReader devoteeListReader;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Every course devotees are enrolled in, with enrolled and completed devotee counts
+     */
+    @Transactional(readOnly = true)
+    public List<CourseCountDto> getCourseCatalog(List<String> districts) {
+        log.debug("Fetching course catalog for districts: {}", districts);
+
+        String sql = "SELECT c->>'courseName' AS course, COUNT(DISTINCT d.id) AS enrolled, "
+                + "COUNT(DISTINCT d.id) FILTER (WHERE c->>'status' = 'completed') AS completed "
+                + "FROM devotees d " + COURSES
+                + "WHERE COALESCE(c->>'courseName', '') <> '' " + scope(districts)
+                + "GROUP BY 1 ORDER BY 1";
+
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("districts", districts),
+                (rs, rowNum) -> CourseCountDto.builder()
+                        .course(rs.getString("course"))
+                        .enrolled(rs.getLong("enrolled"))
+                        .completed(rs.getLong("completed"))
+                        .build());
+    }
+
+    /**
+     * Enrolled and completed counts for one course, per district of the devotees' addresses
+     * A devotee with addresses in two districts counts in both.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseCountDto> getCourseCountsByDistrict(String course, List<String> districts) {
+        String courseName = requireCourse(course);
+        log.debug("Fetching district counts for course: {}", courseName);
+
+        String sql = "SELECT a.district_name_english AS district, COUNT(DISTINCT d.id) AS enrolled, "
+                + "COUNT(DISTINCT d.id) FILTER (WHERE d.devotional_courses @> CAST(:completed AS jsonb)) AS completed "
+                + "FROM devotees d "
+                + "JOIN devotee_addresses da ON da.devotee_id = d.id "
+                + "JOIN addresses a ON a.id = da.address_id "
+                + "WHERE d.devotional_courses @> CAST(:enrolled AS jsonb) AND a.district_name_english IS NOT NULL "
+                + (districts != null ? (districts.isEmpty() ? "AND false " : "AND a.district_name_english IN (:districts) ") : "")
+                + "GROUP BY a.district_name_english ORDER BY a.district_name_english";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("enrolled", containment(courseName, null))
+                .addValue("completed", containment(courseName, "completed"))
+                .addValue("districts", districts);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> CourseCountDto.builder()
+                .course(courseName)
+                .district(rs.getString("district"))
+                .enrolled(rs.getLong("enrolled"))
+                .completed(rs.getLong("completed"))
+                .build());
+    }
+
+    /**
+     * Devotees enrolled in a course, optionally only those with the given course status, ordered by legal name
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<DevoteeListItem> getCourseDevotees(String course, String status, List<String> districts,
+                                                            int page, int size) {
+        String courseName = requireCourse(course);
+        String courseStatus = status != null && !status.trim().isEmpty() ? status.trim() : null;
+        log.debug("Fetching devotees for course: {}, status: {}, page: {}, size: {}", courseName, courseStatus, page, size);
+
+        String where = "FROM devotees d WHERE d.devotional_courses @> CAST(:match AS jsonb) " + scope(districts);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("match", containment(courseName, courseStatus))
+                .addValue("districts", districts)
+                .addValue("limit", size)
+                .addValue("offset", (long) (page - 1) * size);
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + where, params, Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT d.id " + where + "ORDER BY d.legal_name, d.id LIMIT :limit OFFSET :offset", params, Long.class);
+
+        int totalCount = total != null ? total.intValue() : 0;
+        return PagedResponse.<DevoteeListItem>builder()
+                .data(devoteeListReader.readByIds(ids))
+                .page(page)
+                .size(size)
+                .total(totalCount)
+                .totalPages((totalCount + size - 1) / size)
+                .build();
+    }
+
+    // Helper methods
+
+    /**
+     * Devotee district condition; null means unscoped, an empty list matches nothing
+     */
+    private String scope(List<String> districts) {
+        if (districts == null) {
+            return "";
+        }
+        return districts.isEmpty() ? "AND false " : DISTRICT_SCOPE;
+    }
+
+    private String requireCourse(String course) {
+        if (course == null || course.trim().isEmpty()) {
+            throw new ValidationException("course is required");
+        }
+        return course.trim();
+    }
+
+    /**
+     * jsonb array with one course object, for containment matching against devotional_courses
+     */
+    private String containment(String courseName, String status) {
+        Map<String, String> match = new LinkedHashMap<>();
+        match.put("courseName", courseName);
+        if (status != null) {
+            match.put("status", status);
+        }
+        try {
+            return objectMapper.writeValueAsString(List.of(match));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to build course match", e);
+        }
+    }
+}
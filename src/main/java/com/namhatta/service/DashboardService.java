@@ -1,5 +1,6 @@
 package com.namhatta.service;
 
+import com.namhatta.config.ApplicationProperties;
 import com.namhatta.dto.DashboardStatsDto;
 import com.namhatta.dto.StatusDistributionDto;
 import com.namhatta.repository.DevoteeRepository;
@@ -31,6 +32,8 @@ public class DashboardService {
     private final NamhattaRepository namhattaRepository;
     private final ShraddhakutirRepository shraddhakutirRepository;
     private final DevotionalStatusRepository devotionalStatusRepository;
+    private final DevoteeStatusCounters devoteeStatusCounters;
+    private final ApplicationProperties applicationProperties;
     
     /**
      * Get dashboard statistics with district filtering for supervisors
@@ -40,7 +43,17 @@ public class DashboardService {
         
         try {
             // Get total counts based on user access level
-            if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
+            if (allowedDistricts != null && allowedDistricts.isEmpty()) {
+                // District supervisor without districts - nothing in scope
+                return DashboardStatsDto.builder()
+                    .totalDevotees(0L)
+                    .totalNamhattas(0L)
+                    .totalStatuses(0L)
+                    .totalUpdates(0L)
+                    .statusDistribution(toStatusNames(Map.of()))
+                    .namhattaDistribution(new HashMap<>())
+                    .build();
+            } else if (allowedDistricts != null) {
                 // District supervisor - filtered counts
                 return DashboardStatsDto.builder()
                     .totalDevotees(getDevoteeCountByDistricts(allowedDistricts))
@@ -53,7 +66,7 @@ public class DashboardService {
             } else {
                 // Admin/Office - all counts
                 return DashboardStatsDto.builder()
-                    .totalDevotees(devoteeRepository.count())
+                    .totalDevotees(useCounters() ? devoteeStatusCounters.totalDevotees(null) : devoteeRepository.count())
                     .totalNamhattas(namhattaRepository.count())
                     .totalStatuses(shraddhakutirRepository.count())
                     .totalUpdates(namhattaRepository.countByIsApproved(false))
@@ -74,15 +87,7 @@ public class DashboardService {
     public Map<String, Integer> getStatusDistribution() {
         log.debug("Getting status distribution for all devotees");
         
-        List<DevotionalStatus> statuses = devotionalStatusRepository.findAll();
-        Map<String, Integer> distribution = new HashMap<>();
-        
-        for (DevotionalStatus status : statuses) {
-            long count = devoteeRepository.countByDevotionalStatus(status);
-            distribution.put(status.getName(), (int) count);
-        }
-        
-        return distribution;
+        return toStatusNames(countDevoteesByStatus(null));
     }
     
     /**
@@ -91,15 +96,7 @@ public class DashboardService {
     public Map<String, Integer> getStatusDistributionByDistricts(List<String> districts) {
         log.debug("Getting status distribution for districts: {}", districts);
         
-        List<DevotionalStatus> statuses = devotionalStatusRepository.findAll();
-        Map<String, Integer> distribution = new HashMap<>();
-        
-        for (DevotionalStatus status : statuses) {
-            long count = devoteeRepository.countByDevotionalStatusAndDistricts(status, districts);
-            distribution.put(status.getName(), (int) count);
-        }
-        
-        return distribution;
+        return toStatusNames(countDevoteesByStatus(districts));
     }
     
     /**
@@ -111,12 +108,12 @@ public class DashboardService {
         Map<String, Integer> distribution;
         long totalDevotees;
         
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
+        if (allowedDistricts != null) {
             distribution = getStatusDistributionByDistricts(allowedDistricts);
             totalDevotees = getDevoteeCountByDistricts(allowedDistricts);
         } else {
             distribution = getStatusDistribution();
-            totalDevotees = devoteeRepository.count();
+            totalDevotees = useCounters() ? devoteeStatusCounters.totalDevotees(null) : devoteeRepository.count();
         }
         
         return distribution.entrySet().stream()
@@ -128,11 +125,52 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Devotee count per status id from the live counters, or one grouped query until they are loaded
+     */
+    private Map<Long, Long> countDevoteesByStatus(List<String> districts) {
+        if (useCounters()) {
+            return devoteeStatusCounters.countsByStatus(districts);
+        }
+        
+        if (districts != null && districts.isEmpty()) {
+            return Map.of();
+        }
+        
+        List<Object[]> rows = districts != null
+            ? devoteeRepository.countGroupedByStatusAndDistricts(districts)
+            : devoteeRepository.countGroupedByStatus();
+        
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+    
+    /**
+     * Map status id counts to status names, listing statuses without devotees as 0
+     */
+    private Map<String, Integer> toStatusNames(Map<Long, Long> countsByStatusId) {
+        Map<String, Integer> distribution = new HashMap<>();
+        for (DevotionalStatus status : devotionalStatusRepository.findAll()) {
+            distribution.put(status.getName(), countsByStatusId.getOrDefault(status.getId(), 0L).intValue());
+        }
+        return distribution;
+    }
+    
     /**
      * Get devotee count for specific districts
      */
     private long getDevoteeCountByDistricts(List<String> districts) {
-        return devoteeRepository.countByDistricts(districts);
+        if (useCounters()) {
+            return devoteeStatusCounters.totalDevotees(districts);
+        }
+        return districts.isEmpty() ? 0 : devoteeRepository.countByDistricts(districts);
+    }
+    
+    private boolean useCounters() {
+        return applicationProperties.getCounters().isEnabled() && devoteeStatusCounters.isLoaded();
     }
     
     /**
@@ -0,0 +1,194 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.dto.DashboardStatsDto;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.event.NamhattaChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DashboardSnapshotService - Precomputed dashboard statistics per access scope
+ * One snapshot is kept for the global scope and one per distinct supervisor district set.
+ * Reads return the last snapshot immediately; stale or invalidated snapshots are recomputed
+ * in the background, at most one computation per scope at a time.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    private static final String GLOBAL_SCOPE = "*";
+
+    private final DashboardService dashboardService;
+    private final ApplicationProperties applicationProperties;
+    private final TaskExecutor taskExecutor;
+
+    private final Map<String, ScopeSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public DashboardSnapshotService(DashboardService dashboardService,
+                                    ApplicationProperties applicationProperties,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.dashboardService = dashboardService;
+        this.applicationProperties = applicationProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Get dashboard statistics for the scope, computing synchronously only on first access
+     */
+    public DashboardStatsDto getDashboardStats(List<String> allowedDistricts) {
+        if (!applicationProperties.getDashboard().isSnapshotsEnabled()) {
+            return withFreshness(dashboardService.getDashboardStats(allowedDistricts), System.currentTimeMillis());
+        }
+
+        ScopeSnapshot scope = snapshots.computeIfAbsent(scopeKey(allowedDistricts),
+                key -> new ScopeSnapshot(GLOBAL_SCOPE.equals(key) ? null : List.copyOf(new TreeSet<>(allowedDistricts))));
+        scope.lastReadAt = System.currentTimeMillis();
+
+        Computed current = scope.current;
+        if (current == null) {
+            // First read for this scope: compute inline, sharing the result with concurrent first readers
+            synchronized (scope) {
+                if (scope.current == null) {
+                    scope.current = compute(scope);
+                }
+                current = scope.current;
+            }
+        } else if (scope.dirty.get()
+                || System.currentTimeMillis() - current.computedAt() > applicationProperties.getDashboard().getSnapshotRefreshMs()) {
+            refreshInBackground(scope);
+        }
+
+        return withFreshness(current.stats(), current.computedAt());
+    }
+
+    /**
+     * Refresh every active scope and drop the ones nobody reads any more
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.snapshot-refresh-ms:60000}",
+               fixedDelayString = "${app.dashboard.snapshot-refresh-ms:60000}")
+    public void refreshAll() {
+        long idleCutoff = System.currentTimeMillis() - applicationProperties.getDashboard().getSnapshotIdleEvictMs();
+        snapshots.entrySet().removeIf(entry -> entry.getValue().lastReadAt < idleCutoff);
+        snapshots.values().forEach(this::refreshInBackground);
+    }
+
+    /**
+     * Mark snapshots touching the changed districts stale and recompute them
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevoteeChanged(DevoteeChangedEvent event) {
+        Set<String> districts = new HashSet<>();
+        if (event.before() != null) {
+            districts.addAll(event.before().districts());
+        }
+        if (event.after() != null) {
+            districts.addAll(event.after().districts());
+        }
+        invalidate(districts);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNamhattaChanged(NamhattaChangedEvent event) {
+        Set<String> districts = new HashSet<>();
+        for (NamhattaChangedEvent.Snapshot snapshot : Arrays.asList(event.before(), event.after())) {
+            if (snapshot != null) {
+                snapshot.locations().forEach(location -> districts.add(location.district()));
+            }
+        }
+        invalidate(districts);
+    }
+
+    private void invalidate(Set<String> changedDistricts) {
+        snapshots.values().forEach(scope -> {
+            if (scope.districts == null || scope.districts.stream().anyMatch(changedDistricts::contains)) {
+                refreshInBackground(scope);
+            }
+        });
+    }
+
+    /**
+     * Single-flight refresh: changes arriving mid-computation trigger exactly one more pass
+     */
+    private void refreshInBackground(ScopeSnapshot scope) {
+        scope.dirty.set(true);
+        if (!scope.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    while (scope.dirty.getAndSet(false)) {
+                        scope.current = compute(scope);
+                    }
+                } catch (Exception e) {
+                    log.error("Error refreshing dashboard snapshot for districts: {}", scope.districts, e);
+                } finally {
+                    scope.refreshing.set(false);
+                }
+                if (scope.dirty.get()) {
+                    refreshInBackground(scope);
+                }
+            });
+        } catch (Exception e) {
+            scope.refreshing.set(false);
+            log.warn("Could not schedule dashboard snapshot refresh: {}", e.getMessage());
+        }
+    }
+
+    private Computed compute(ScopeSnapshot scope) {
+        long started = System.currentTimeMillis();
+        DashboardStatsDto stats = dashboardService.getDashboardStats(scope.districts);
+        log.debug("Computed dashboard snapshot for districts: {} in {} ms", scope.districts, System.currentTimeMillis() - started);
+        return new Computed(stats, started);
+    }
+
+    private DashboardStatsDto withFreshness(DashboardStatsDto stats, long computedAt) {
+        return DashboardStatsDto.builder()
+                .totalDevotees(stats.getTotalDevotees())
+                .totalNamhattas(stats.getTotalNamhattas())
+                .totalStatuses(stats.getTotalStatuses())
+                .totalUpdates(stats.getTotalUpdates())
+                .statusDistribution(stats.getStatusDistribution())
+                .namhattaDistribution(stats.getNamhattaDistribution())
+                .computedAt(Instant.ofEpochMilli(computedAt))
+                .ageMs(Math.max(0, System.currentTimeMillis() - computedAt))
+                .build();
+    }
+
+    private static String scopeKey(List<String> allowedDistricts) {
+        if (allowedDistricts == null) {
+            return GLOBAL_SCOPE;
+        }
+        return String.join("\u0000", new TreeSet<>(allowedDistricts));
+    }
+
+    private record Computed(DashboardStatsDto stats, long computedAt) {
+    }
+
+    private static final class ScopeSnapshot {
+        private final List<String> districts; // null for the global scope
+        private volatile Computed current;
+        private volatile long lastReadAt;
+        private final AtomicBoolean dirty = new AtomicBoolean(false);
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private ScopeSnapshot(List<String> districts) {
+            this.districts = districts;
+        }
+    }
+}
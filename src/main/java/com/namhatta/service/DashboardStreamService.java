@@ -0,0 +1,332 @@
+package com.namhatta.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.entity.DevotionalStatus;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.event.NamhattaChangedEvent;
+import com.namhatta.event.ProgramUpdateCreatedEvent;
+import com.namhatta.repository.DevotionalStatusRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * DashboardStreamService - Pushes dashboard deltas to connected Server-Sent Events clients
+ * Committed devotee, namhatta and program update changes are queued on one shared bus and
+ * fanned out by a single drain task on the application executor, so no thread is held per
+ * connection. Each delta is filtered by the subscriber's district scope and serialized once
+ * per distinct scope.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    private final DevotionalStatusRepository devotionalStatusRepository;
+    private final ApplicationProperties applicationProperties;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public DashboardStreamService(DevotionalStatusRepository devotionalStatusRepository,
+                                  ApplicationProperties applicationProperties,
+                                  ObjectMapper objectMapper,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.devotionalStatusRepository = devotionalStatusRepository;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Open a stream for a client; districts is null for unrestricted (admin/office) access
+     */
+    public SseEmitter subscribe(Set<String> districts) {
+        ApplicationProperties.Dashboard config = applicationProperties.getDashboard();
+        if (subscribers.size() >= config.getStreamMaxSubscribers()) {
+            throw new IllegalStateException("Too many open dashboard streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(config.getStreamTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, districts == null ? null : Set.copyOf(districts));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        send(subscriber, SseEmitter.event()
+                .name("connected")
+                .reconnectTime(config.getStreamHeartbeatMs())
+                .data("{\"subscribers\":" + subscribers.size() + "}"));
+
+        log.debug("Dashboard stream opened for districts: {} ({} open)", districts, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Number of open streams
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Status count deltas: -1 on the previous status and +1 on the new one, per scope
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevoteeChanged(DevoteeChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        DevoteeChangedEvent.Snapshot before = event.before();
+        DevoteeChangedEvent.Snapshot after = event.after();
+        if (before != null && after != null
+                && Objects.equals(before.statusId(), after.statusId()) && before.districts().equals(after.districts())) {
+            return;
+        }
+
+        publish("devoteeStatus", () -> {
+            Map<Long, String> statusNames = statusNames(before, after);
+            return scope -> {
+                Map<String, Integer> changes = new TreeMap<>();
+                int totalDelta = 0;
+                if (before != null && inScope(before.districts(), scope)) {
+                    totalDelta--;
+                    if (before.statusId() != null) {
+                        changes.merge(statusNames.get(before.statusId()), -1, Integer::sum);
+                    }
+                }
+                if (after != null && inScope(after.districts(), scope)) {
+                    totalDelta++;
+                    if (after.statusId() != null) {
+                        changes.merge(statusNames.get(after.statusId()), 1, Integer::sum);
+                    }
+                }
+                changes.values().removeIf(change -> change == 0);
+                if (changes.isEmpty() && totalDelta == 0) {
+                    return null;
+                }
+                Map<String, Object> delta = new LinkedHashMap<>();
+                delta.put("devoteeId", event.devoteeId());
+                delta.put("totalDevotees", totalDelta);
+                delta.put("statusDistribution", changes);
+                return delta;
+            };
+        });
+    }
+
+    /**
+     * Pending approval deltas: namhattas entering or leaving the approval queue
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNamhattaChanged(NamhattaChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        int pendingDelta = (isPending(event.after()) ? 1 : 0) - (isPending(event.before()) ? 1 : 0);
+        if (pendingDelta == 0) {
+            return;
+        }
+        Set<String> districts = new HashSet<>();
+        for (NamhattaChangedEvent.Snapshot snapshot : Arrays.asList(event.before(), event.after())) {
+            if (snapshot != null) {
+                snapshot.locations().forEach(location -> districts.add(location.district()));
+            }
+        }
+
+        publish("namhattaPending", () -> scope -> {
+            if (!inScope(districts, scope)) {
+                return null;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("namhattaId", event.namhattaId());
+            delta.put("change", event.type().name());
+            delta.put("pendingNamhattas", pendingDelta);
+            return delta;
+        });
+    }
+
+    /**
+     * New program updates, delivered to scopes covering the namhatta
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramUpdateCreated(ProgramUpdateCreatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish("programUpdate", () -> scope -> {
+            if (!inScope(event.districts(), scope)) {
+                return null;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("updateId", event.updateId());
+            delta.put("namhattaId", event.namhattaId());
+            delta.put("namhattaName", event.namhattaName());
+            delta.put("programType", event.programType());
+            delta.put("date", event.date());
+            delta.put("attendance", event.attendance());
+            delta.put("totalUpdates", 1);
+            return delta;
+        });
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect disconnected clients
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.stream-heartbeat-ms:25000}",
+               fixedDelayString = "${app.dashboard.stream-heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Queue a delta; the factory runs on the drain thread and returns the payload per scope (null to skip)
+     */
+    private void publish(String eventName, DeltaFactory factory) {
+        pending.add(() -> fanOut(eventName, factory.create()));
+        drainInBackground();
+    }
+
+    /**
+     * Single drain task at a time keeps deltas in commit order across the bus
+     */
+    private void drainInBackground() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    Runnable task;
+                    while ((task = pending.poll()) != null) {
+                        try {
+                            task.run();
+                        } catch (Exception e) {
+                            log.error("Error delivering dashboard stream delta", e);
+                        }
+                    }
+                } finally {
+                    draining.set(false);
+                }
+                if (!pending.isEmpty()) {
+                    drainInBackground();
+                }
+            });
+        } catch (Exception e) {
+            draining.set(false);
+            pending.clear();
+            log.warn("Could not schedule dashboard stream delivery: {}", e.getMessage());
+        }
+    }
+
+    private void fanOut(String eventName, Function<Set<String>, Map<String, Object>> payloadForScope) {
+        String id = Long.toString(sequence.incrementAndGet());
+        Map<Set<String>, Optional<String>> serialized = new HashMap<>();
+
+        for (Subscriber subscriber : subscribers) {
+            Optional<String> data = serialized.computeIfAbsent(subscriber.districts(), scope -> {
+                Map<String, Object> payload = payloadForScope.apply(scope);
+                if (payload == null) {
+                    return Optional.empty();
+                }
+                try {
+                    return Optional.of(objectMapper.writeValueAsString(payload));
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to serialize dashboard delta", e);
+                }
+            });
+            data.ifPresent(json -> send(subscriber, SseEmitter.event().id(id).name(eventName).data(json)));
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; drop it now rather than waiting for the container to notice
+            subscribers.remove(subscriber);
+            log.debug("Dropping dashboard stream for districts {}: {}", subscriber.districts(), e.getMessage());
+        }
+    }
+
+    private Map<Long, String> statusNames(DevoteeChangedEvent.Snapshot... snapshots) {
+        Set<Long> ids = new HashSet<>();
+        for (DevoteeChangedEvent.Snapshot snapshot : snapshots) {
+            if (snapshot != null && snapshot.statusId() != null) {
+                ids.add(snapshot.statusId());
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (DevotionalStatus status : devotionalStatusRepository.findAllById(ids)) {
+            names.put(status.getId(), status.getName());
+        }
+        ids.forEach(id -> names.putIfAbsent(id, String.valueOf(id)));
+        return names;
+    }
+
+    private static boolean isPending(NamhattaChangedEvent.Snapshot snapshot) {
+        return snapshot != null && !snapshot.approved() && snapshot.active();
+    }
+
+    private static boolean inScope(Set<String> districts, Set<String> scope) {
+        if (scope == null) {
+            return true;
+        }
+        for (String district : districts) {
+            if (scope.contains(district)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface DeltaFactory {
+        Function<Set<String>, Map<String, Object>> create();
+    }
+
+    private record Subscriber(SseEmitter emitter, Set<String> districts) {
+
+        // Identity semantics: two connections with the same scope are distinct subscribers
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
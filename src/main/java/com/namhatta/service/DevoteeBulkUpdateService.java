@@ -0,0 +1,182 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.dto.BulkDevoteeUpdateDto;
+import com.namhatta.dto.BulkUpdateResultDto;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.repository.DevotionalStatusRepository;
+import com.namhatta.repository.specification.DevoteeFilter;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DevoteeBulkUpdateService - Status promotion and namhatta reassignment for many devotees at once
+ * Each operation is one UPDATE over an id list or a filter, with the supervisor district scope in
+ * its WHERE clause. RETURNING yields the previous and new values of every changed row, which are
+ * published as DevoteeChangedEvents so counters and dashboard snapshots stay exact.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DevoteeBulkUpdateService {
+
+    private static final String DISTRICT_SCOPE = """
+             AND EXISTS (SELECT 1 FROM devotee_addresses sda JOIN addresses sa ON sa.id = sda.address_id
+                         WHERE sda.devotee_id = d.id AND sa.district_name_english IN (:scopeDistricts))
+            """;
+
+    // The FROM self-join reads each row as it was before this statement, giving RETURNING the old values
+    private static final String UPDATE = """
+            UPDATE devotees d
+            SET {column} = :target, updated_at = NOW()
+            FROM devotees old
+            WHERE old.id = d.id AND d.{column} IS DISTINCT FROM :target AND {condition}
+            RETURNING d.id, old.devotional_status_id AS old_status_id, old.namhatta_id AS old_namhatta_id,
+                      d.devotional_status_id, d.namhatta_id,
+                      ARRAY(SELECT DISTINCT a.district_name_english
+                            FROM devotee_addresses da JOIN addresses a ON a.id = da.address_id
+                            WHERE da.devotee_id = d.id AND a.district_name_english IS NOT NULL) AS districts
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DevotionalStatusRepository devotionalStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * Move the selected devotees to a devotional status, e.g. after an initiation ceremony
+     */
+    @Transactional
+    public BulkUpdateResultDto updateStatus(BulkDevoteeUpdateDto dto, List<String> allowedDistricts) {
+        if (dto.getStatusId() == null) {
+            throw new ValidationException("statusId is required");
+        }
+        if (!devotionalStatusRepository.existsById(dto.getStatusId())) {
+            throw new ValidationException("Devotional status not found with id: " + dto.getStatusId());
+        }
+        return update("status", "devotional_status_id", dto.getStatusId(), dto, allowedDistricts);
+    }
+
+    /**
+     * Move the selected devotees to another namhatta; supervisors may only move them to namhattas in their districts
+     */
+    @Transactional
+    public BulkUpdateResultDto updateNamhatta(BulkDevoteeUpdateDto dto, List<String> allowedDistricts) {
+        if (dto.getNamhattaId() == null) {
+            throw new ValidationException("namhattaId is required");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("namhattaId", dto.getNamhattaId());
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM namhattas WHERE id = :namhattaId)", params, Boolean.class);
+        if (!Boolean.TRUE.equals(exists)) {
+            throw new ValidationException("Namhatta not found with id: " + dto.getNamhattaId());
+        }
+        if (allowedDistricts != null) {
+            boolean inScope = !allowedDistricts.isEmpty() && Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                    SELECT EXISTS (SELECT 1 FROM namhatta_addresses na JOIN addresses a ON a.id = na.address_id
+                                   WHERE na.namhatta_id = :namhattaId AND a.district_name_english IN (:districts))
+                    """, params.addValue("districts", allowedDistricts), Boolean.class));
+            if (!inScope) {
+                throw new AccessDeniedException("Access denied: Namhatta not in your assigned districts");
+            }
+        }
+        return update("namhatta", "namhatta_id", dto.getNamhattaId(), dto, allowedDistricts);
+    }
+
+    private BulkUpdateResultDto update(String operation, String column, Long target, BulkDevoteeUpdateDto dto,
+                                       List<String> allowedDistricts) {
+        long started = System.currentTimeMillis();
+        MapSqlParameterSource params = new MapSqlParameterSource("target", target);
+        String condition = selection(dto, params);
+
+        if (allowedDistricts != null) {
+            // Supervisors only change devotees in their districts; none assigned means nothing to change
+            condition += allowedDistricts.isEmpty() ? " AND false" : DISTRICT_SCOPE;
+            params.addValue("scopeDistricts", allowedDistricts);
+        }
+
+        String sql = UPDATE.replace("{column}", column).replace("{condition}", condition);
+        List<DevoteeChangedEvent> changes = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Set<String> districts = districts(rs.getArray("districts"));
+            return new DevoteeChangedEvent(rs.getLong("id"),
+                    new DevoteeChangedEvent.Snapshot(nullableLong(rs.getLong("old_status_id"), rs.wasNull()),
+                            nullableLong(rs.getLong("old_namhatta_id"), rs.wasNull()), districts),
+                    new DevoteeChangedEvent.Snapshot(nullableLong(rs.getLong("devotional_status_id"), rs.wasNull()),
+                            nullableLong(rs.getLong("namhatta_id"), rs.wasNull()), districts));
+        });
+        changes.forEach(eventPublisher::publishEvent);
+
+        BulkUpdateResultDto result = BulkUpdateResultDto.builder()
+                .operation(operation)
+                .requested(dto.getIds() != null ? dto.getIds().size() : null)
+                .updated(changes.size())
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+        log.info("Bulk devotee {} update to {}: {} updated in {} ms", operation, target, result.getUpdated(),
+                result.getDurationMs());
+        return result;
+    }
+
+    /**
+     * Condition selecting the requested devotees: exactly one of an id list or a non-empty filter
+     */
+    private String selection(BulkDevoteeUpdateDto dto, MapSqlParameterSource params) {
+        boolean hasIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        if (hasIds == (dto.getFilter() != null)) {
+            throw new ValidationException("Provide either ids or filter");
+        }
+
+        if (hasIds) {
+            int maxIds = applicationProperties.getBulkImport().getMaxUpdateIds();
+            if (dto.getIds().size() > maxIds) {
+                throw new ValidationException("At most " + maxIds + " ids can be updated at once; use a filter instead");
+            }
+            params.addValue("ids", dto.getIds().stream().distinct().toArray(Long[]::new));
+            return "d.id = ANY(:ids)";
+        }
+
+        BulkDevoteeUpdateDto.Criteria criteria = dto.getFilter();
+        String district = trimToNull(criteria.getDistrict());
+        DevoteeFilter filter = DevoteeFilter.builder()
+                .districts(district != null ? List.of(district) : null)
+                .statusId(criteria.getStatusId())
+                .gender(trimToNull(criteria.getGender()))
+                .namhattaId(criteria.getNamhattaId())
+                .shraddhakutirId(criteria.getShraddhakutirId())
+                .initiated(criteria.getInitiated())
+                .build();
+        // Judge the condition itself, so a field the filter ignores can never select every devotee
+        String condition = filter.toSqlCondition(params);
+        if (DevoteeFilter.MATCH_ALL.equals(condition)) {
+            throw new ValidationException("filter must set at least one field");
+        }
+        return condition;
+    }
+
+    private static String trimToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+
+    private static Set<String> districts(Array array) throws SQLException {
+        if (array == null) {
+            return Set.of();
+        }
+        return Set.of((String[]) array.getArray());
+    }
+
+    private static Long nullableLong(long value, boolean wasNull) {
+        return wasNull ? null : value;
+    }
+}
@@ -0,0 +1,632 @@
+package com.namhatta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.dto.BulkImportResultDto;
+import com.namhatta.dto.CreateAddressDto;
+import com.namhatta.dto.CreateDevoteeDto;
+import com.namhatta.entity.DevotionalCoursesConverter;
+import com.namhatta.entity.DevotionalStatus;
+import com.namhatta.event.AddressDataChangedEvent;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.mapper.DevoteeMapper;
+import com.namhatta.repository.DevotionalStatusRepository;
+import com.namhatta.util.BoundedCache;
+import com.namhatta.util.CsvRowReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * DevoteeImportService - Bulk devotee import from CSV or NDJSON
+ * Input is parsed one record at a time and written in JDBC batches of app.bulk-import.batch-size rows,
+ * one transaction per batch, so memory stays flat regardless of file size. Ids are drawn from the
+ * table sequences up front so devotees, new addresses and address links all go out as batched inserts,
+ * which IDENTITY generation rules out for Hibernate.
+ *
+ * CSV headers use CreateDevoteeDto property names, presentAddress.* and permanentAddress.* for the
+ * addresses, and devotionalStatus (a status name) as an alternative to devotionalStatusId. NDJSON lines
+ * have the same shape as the POST /api/devotees body. Addresses that already exist are reused.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DevoteeImportService {
+
+    private static final int ADDRESS_CACHE_SIZE = 10000;
+
+    private static final String INSERT_DEVOTEE = """
+        INSERT INTO devotees (id, legal_name, name, dob, email, phone, gender, marital_status, husband_name,
+            father_name, mother_name, initiated_name, harinam_date, pancharatrik_date, education, occupation,
+            devotional_courses, devotional_status_id, namhatta_id, created_at, updated_at)
+        VALUES (:id, :legalName, :name, :dob, :email, :phone, :gender, :maritalStatus, :husbandName,
+            :fatherName, :motherName, :initiatedName, :harinamDate, :pancharatrikDate, :education, :occupation,
+            CAST(:devotionalCourses AS jsonb), :devotionalStatusId, :namhattaId, :createdAt, :createdAt)
+        """;
+
+    private static final String INSERT_ADDRESS = """
+        INSERT INTO addresses (id, country, state_name_english, district_name_english, subdistrict_name_english,
+            village_name_english, pincode)
+        VALUES (:id, :country, :state, :district, :subdistrict, :village, :pincode)
+        """;
+
+    private static final String INSERT_DEVOTEE_ADDRESS = """
+        INSERT INTO devotee_addresses (devotee_id, address_id, address_type, landmark)
+        VALUES (:devoteeId, :addressId, :addressType, :landmark)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DevotionalStatusRepository devotionalStatusRepository;
+    private final DevoteeMapper devoteeMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationProperties applicationProperties;
+
+    private final DevotionalCoursesConverter coursesConverter = new DevotionalCoursesConverter();
+
+    /**
+     * Supported upload formats
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * Explicit format parameter first, then the request content type
+         */
+        public static Format of(String format, String contentType) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new ValidationException("format must be csv or ndjson");
+                }
+            }
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.contains("csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+                return NDJSON;
+            }
+            throw new ValidationException("Send text/csv or application/x-ndjson, or pass format=csv|ndjson");
+        }
+    }
+
+    private record SourceRow(long line, ObjectNode fields, String error) {
+    }
+
+    private record PendingRow(long line, CreateDevoteeDto dto, Long statusId) {
+    }
+
+    private record AddressKey(String country, String state, String district, String subdistrict,
+                              String village, String pincode) {
+
+        static AddressKey of(CreateAddressDto address) {
+            return new AddressKey(blankToNull(address.getCountry()), blankToNull(address.getStateNameEnglish()),
+                    blankToNull(address.getDistrictNameEnglish()), blankToNull(address.getSubdistrictNameEnglish()),
+                    blankToNull(address.getVillageNameEnglish()), blankToNull(address.getPincode()));
+        }
+    }
+
+    /**
+     * Import devotees from the stream; rows that fail validation or resolution are reported, the rest are saved
+     */
+    public BulkImportResultDto importDevotees(InputStream input, Format format) {
+        ApplicationProperties.BulkImport settings = applicationProperties.getBulkImport();
+        long started = System.currentTimeMillis();
+        ImportRun run = new ImportRun(settings.getMaxErrors());
+
+        Map<String, Long> statusIdsByName = new HashMap<>();
+        for (DevotionalStatus status : devotionalStatusRepository.findAll()) {
+            statusIdsByName.put(status.getName().trim().toLowerCase(Locale.ROOT), status.getId());
+        }
+
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<PendingRow> batch = new ArrayList<>(settings.getBatchSize());
+        try (RowSource source = format == Format.CSV
+                ? new CsvSource(reader, settings.getMaxRecordLength())
+                : new NdjsonSource(reader, settings.getMaxRecordLength())) {
+            while (true) {
+                SourceRow row;
+                try {
+                    row = source.next();
+                } catch (IOException e) {
+                    // Malformed or truncated input; keep what was read before it
+                    run.reject(source.line(), "Import stopped: " + e.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+                run.received++;
+                PendingRow pending = prepare(row, statusIdsByName, run);
+                if (pending != null) {
+                    batch.add(pending);
+                }
+                if (batch.size() >= settings.getBatchSize()) {
+                    write(batch, run);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch, run);
+            }
+        } catch (IOException e) {
+            log.error("Error reading devotee import", e);
+            throw new RuntimeException("Failed to read import data", e);
+        }
+
+        long durationMs = System.currentTimeMillis() - started;
+        log.info("Devotee import ({}): {} received, {} imported, {} failed in {} batches, {} ms",
+                format, run.received, run.imported, run.failed, run.batches, durationMs);
+
+        return BulkImportResultDto.builder()
+                .format(format.name().toLowerCase(Locale.ROOT))
+                .received(run.received)
+                .imported(run.imported)
+                .failed(run.failed)
+                .batches(run.batches)
+                .addressesCreated(run.addressesCreated)
+                .durationMs(durationMs)
+                .rowsPerSecond(run.imported * 1000 / Math.max(1, durationMs))
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    /**
+     * Sanitize, convert, validate and resolve the status of one row; null when the row is rejected
+     */
+    private PendingRow prepare(SourceRow row, Map<String, Long> statusIdsByName, ImportRun run) {
+        if (row.error() != null) {
+            run.reject(row.line(), row.error());
+            return null;
+        }
+        ObjectNode fields = row.fields();
+        sanitize(fields);
+        JsonNode statusName = fields.remove("devotionalStatus");
+
+        CreateDevoteeDto dto;
+        try {
+            dto = objectMapper.treeToValue(fields, CreateDevoteeDto.class);
+        } catch (JsonProcessingException e) {
+            run.reject(row.line(), "Invalid value: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateDevoteeDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            run.reject(row.line(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        Long statusId = dto.getDevotionalStatusId();
+        if (statusId != null && !statusIdsByName.containsValue(statusId)) {
+            run.reject(row.line(), "Unknown devotionalStatusId: " + statusId);
+            return null;
+        }
+        if (statusId == null && statusName != null && !statusName.asText().isBlank()) {
+            statusId = statusIdsByName.get(statusName.asText().trim().toLowerCase(Locale.ROOT));
+            if (statusId == null) {
+                run.reject(row.line(), "Unknown devotionalStatus: " + statusName.asText());
+                return null;
+            }
+        }
+        return new PendingRow(row.line(), dto, statusId);
+    }
+
+    /**
+     * Resolve namhattas, then write the batch in one transaction; a failing batch is split to isolate bad rows
+     */
+    private void write(List<PendingRow> batch, ImportRun run) {
+        List<PendingRow> resolved = new ArrayList<>(batch.size());
+        Set<Long> namhattaIds = batch.stream()
+                .map(row -> row.dto().getNamhattaId())
+                .filter(Objects::nonNull)
+                .filter(id -> !run.knownNamhattas.contains(id) && !run.unknownNamhattas.contains(id))
+                .collect(Collectors.toSet());
+        if (!namhattaIds.isEmpty()) {
+            List<Long> found = jdbcTemplate.queryForList("SELECT id FROM namhattas WHERE id IN (:ids)",
+                    Map.of("ids", namhattaIds), Long.class);
+            run.knownNamhattas.addAll(found);
+            namhattaIds.removeAll(found);
+            run.unknownNamhattas.addAll(namhattaIds);
+        }
+        for (PendingRow row : batch) {
+            Long namhattaId = row.dto().getNamhattaId();
+            if (namhattaId != null && run.unknownNamhattas.contains(namhattaId)) {
+                run.reject(row.line(), "Unknown namhattaId: " + namhattaId);
+            } else {
+                resolved.add(row);
+            }
+        }
+        if (!resolved.isEmpty()) {
+            writeIsolating(resolved, run);
+        }
+    }
+
+    private void writeIsolating(List<PendingRow> rows, ImportRun run) {
+        try {
+            Map<AddressKey, Long> created = transactionTemplate.execute(status -> insert(rows, run));
+            created.forEach(run.addressIds::put);
+            run.imported += rows.size();
+            run.addressesCreated += created.size();
+            run.batches++;
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                run.reject(rows.get(0).line(), "Could not save row: " + rootMessage(e));
+                return;
+            }
+            log.debug("Import batch of {} rows failed, splitting: {}", rows.size(), rootMessage(e));
+            writeIsolating(rows.subList(0, rows.size() / 2), run);
+            writeIsolating(rows.subList(rows.size() / 2, rows.size()), run);
+        }
+    }
+
+    /**
+     * Insert one batch; runs inside a transaction and returns the addresses it created
+     */
+    private Map<AddressKey, Long> insert(List<PendingRow> rows, ImportRun run) {
+        Map<AddressKey, Long> addressIds = new HashMap<>();
+        Map<AddressKey, Long> created = new HashMap<>();
+        resolveAddresses(rows, run, addressIds, created);
+
+        List<Long> devoteeIds = nextIds("devotees", rows.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SqlParameterSource> devotees = new ArrayList<>(rows.size());
+        List<SqlParameterSource> links = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateDevoteeDto dto = rows.get(i).dto();
+            Long devoteeId = devoteeIds.get(i);
+            devotees.add(new MapSqlParameterSource()
+                    .addValue("id", devoteeId)
+                    .addValue("legalName", dto.getLegalName())
+                    .addValue("name", dto.getName())
+                    .addValue("dob", dto.getDob())
+                    .addValue("email", dto.getEmail())
+                    .addValue("phone", dto.getPhone())
+                    .addValue("gender", dto.getGender())
+                    .addValue("maritalStatus", dto.getRelationshipStatus())
+                    .addValue("husbandName", dto.getSpouseName())
+                    .addValue("fatherName", dto.getFatherName())
+                    .addValue("motherName", dto.getMotherName())
+                    .addValue("initiatedName", dto.getInitiatedName())
+                    .addValue("harinamDate", dto.getHarinamDate())
+                    .addValue("pancharatrikDate", dto.getPancharatrikDate())
+                    .addValue("education", dto.getEducation())
+                    .addValue("occupation", dto.getOccupation())
+                    .addValue("devotionalCourses", coursesConverter.convertToDatabaseColumn(
+                            devoteeMapper.mapDevotionalCoursesFromDto(dto.getDevotionalCourses())))
+                    .addValue("devotionalStatusId", rows.get(i).statusId())
+                    .addValue("namhattaId", dto.getNamhattaId())
+                    .addValue("createdAt", now));
+
+            Set<String> districts = new TreeSet<>();
+            for (Map.Entry<String, CreateAddressDto> entry : addressesOf(dto).entrySet()) {
+                AddressKey key = AddressKey.of(entry.getValue());
+                links.add(new MapSqlParameterSource()
+                        .addValue("devoteeId", devoteeId)
+                        .addValue("addressId", addressIds.get(key))
+                        .addValue("addressType", entry.getKey())
+                        .addValue("landmark", blankToNull(entry.getValue().getLandmark())));
+                if (key.district() != null) {
+                    districts.add(key.district());
+                }
+            }
+            eventPublisher.publishEvent(new DevoteeChangedEvent(devoteeId, null,
+                    new DevoteeChangedEvent.Snapshot(rows.get(i).statusId(), dto.getNamhattaId(), Set.copyOf(districts))));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_DEVOTEE, devotees.toArray(new SqlParameterSource[0]));
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DEVOTEE_ADDRESS, links.toArray(new SqlParameterSource[0]));
+        }
+        return created;
+    }
+
+    /**
+     * Map every address in the batch to an id: cached, existing rows, or newly inserted rows
+     */
+    private void resolveAddresses(List<PendingRow> rows, ImportRun run,
+                                  Map<AddressKey, Long> addressIds, Map<AddressKey, Long> created) {
+        Set<AddressKey> missing = new HashSet<>();
+        for (PendingRow row : rows) {
+            for (CreateAddressDto address : addressesOf(row.dto()).values()) {
+                AddressKey key = AddressKey.of(address);
+                Long cached = run.addressIds.get(key);
+                if (cached != null) {
+                    addressIds.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<String> pincodes = missing.stream().map(AddressKey::pincode).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> districts = missing.stream().filter(key -> key.pincode() == null)
+                .map(AddressKey::district).filter(Objects::nonNull).collect(Collectors.toSet());
+        List<String> conditions = new ArrayList<>();
+        if (!pincodes.isEmpty()) {
+            conditions.add("NULLIF(TRIM(pincode), '') IN (:pincodes)");
+        }
+        if (!districts.isEmpty()) {
+            conditions.add("(NULLIF(TRIM(pincode), '') IS NULL AND NULLIF(TRIM(district_name_english), '') IN (:districts))");
+        }
+        if (!conditions.isEmpty()) {
+            // Normalized the same way as AddressKey.of, so rows stored with '' or padding match the imported values
+            jdbcTemplate.query("SELECT id, NULLIF(TRIM(country), ''), NULLIF(TRIM(state_name_english), ''), " +
+                            "NULLIF(TRIM(district_name_english), ''), NULLIF(TRIM(subdistrict_name_english), ''), " +
+                            "NULLIF(TRIM(village_name_english), ''), NULLIF(TRIM(pincode), '') FROM addresses WHERE " +
+                            String.join(" OR ", conditions) + " ORDER BY id",
+                    new MapSqlParameterSource().addValue("pincodes", pincodes).addValue("districts", districts),
+                    rs -> {
+                        AddressKey key = new AddressKey(rs.getString(2), rs.getString(3), rs.getString(4),
+                                rs.getString(5), rs.getString(6), rs.getString(7));
+                        if (missing.remove(key)) {
+                            addressIds.put(key, rs.getLong(1));
+                        }
+                    });
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<AddressKey> newKeys = new ArrayList<>(missing);
+        List<Long> ids = nextIds("addresses", newKeys.size());
+        List<SqlParameterSource> inserts = new ArrayList<>(newKeys.size());
+        for (int i = 0; i < newKeys.size(); i++) {
+            AddressKey key = newKeys.get(i);
+            inserts.add(new MapSqlParameterSource()
+                    .addValue("id", ids.get(i))
+                    .addValue("country", key.country())
+                    .addValue("state", key.state())
+                    .addValue("district", key.district())
+                    .addValue("subdistrict", key.subdistrict())
+                    .addValue("village", key.village())
+                    .addValue("pincode", key.pincode()));
+            addressIds.put(key, ids.get(i));
+            created.put(key, ids.get(i));
+            eventPublisher.publishEvent(new AddressDataChangedEvent(key.country(), key.state(), key.district(),
+                    key.subdistrict(), key.village(), key.pincode()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS, inserts.toArray(new SqlParameterSource[0]));
+    }
+
+    private List<Long> nextIds(String table, int count) {
+        return jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence(:table, 'id')) " +
+                        "FROM generate_series(1, :count)",
+                new MapSqlParameterSource().addValue("table", table).addValue("count", count), Long.class);
+    }
+
+    /**
+     * Non-empty addresses of a row keyed by address type
+     */
+    private static Map<String, CreateAddressDto> addressesOf(CreateDevoteeDto dto) {
+        Map<String, CreateAddressDto> addresses = new LinkedHashMap<>();
+        if (hasContent(dto.getPresentAddress())) {
+            addresses.put("present", dto.getPresentAddress());
+        }
+        if (hasContent(dto.getPermanentAddress())) {
+            addresses.put("permanent", dto.getPermanentAddress());
+        }
+        return addresses;
+    }
+
+    private static boolean hasContent(CreateAddressDto address) {
+        return address != null && !AddressKey.of(address).equals(new AddressKey(null, null, null, null, null, null));
+    }
+
+    /**
+     * Same escaping as InputSanitizationFilter applies to JSON bodies, which bulk uploads bypass
+     */
+    private static void sanitize(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.fields().forEachRemaining(entry -> {
+                if (entry.getValue().isTextual()) {
+                    entry.setValue(TextNode.valueOf(StringEscapeUtils.escapeHtml4(entry.getValue().asText()).trim()));
+                } else {
+                    sanitize(entry.getValue());
+                }
+            });
+        } else if (node != null && node.isArray()) {
+            for (JsonNode element : node) {
+                sanitize(element);
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * Counters and caches for one import call
+     */
+    private static class ImportRun {
+        private final int maxErrors;
+        private final List<BulkImportResultDto.RowError> errors = new ArrayList<>();
+        private final Set<Long> knownNamhattas = new HashSet<>();
+        private final Set<Long> unknownNamhattas = new HashSet<>();
+        private final BoundedCache<AddressKey, Long> addressIds = new BoundedCache<>(ADDRESS_CACHE_SIZE);
+        private long received;
+        private long imported;
+        private long failed;
+        private long addressesCreated;
+        private int batches;
+
+        ImportRun(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResultDto.RowError(line, message));
+            }
+        }
+    }
+
+    private interface RowSource extends AutoCloseable {
+        SourceRow next() throws IOException;
+
+        long line();
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * CSV rows keyed by the header; dotted headers become nested objects, empty cells are left out
+     */
+    private class CsvSource implements RowSource {
+        private final CsvRowReader reader;
+        private List<String> header;
+
+        CsvSource(Reader reader, int maxRecordLength) {
+            this.reader = new CsvRowReader(reader, maxRecordLength);
+        }
+
+        @Override
+        public SourceRow next() throws IOException {
+            if (header == null) {
+                header = reader.next();
+                if (header == null) {
+                    throw new ValidationException("CSV header row is required");
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+            List<String> values = reader.next();
+            if (values == null) {
+                return null;
+            }
+            long line = reader.getRecordLine();
+            if (values.size() > header.size()) {
+                return new SourceRow(line, null, "Row has " + values.size() + " fields but the header has " + header.size());
+            }
+            ObjectNode fields = objectMapper.createObjectNode();
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i).isBlank() || header.get(i).isEmpty()) {
+                    continue;
+                }
+                ObjectNode target = fields;
+                String[] path = header.get(i).split("\\.");
+                for (int p = 0; p < path.length - 1; p++) {
+                    JsonNode child = target.get(path[p]);
+                    target = child instanceof ObjectNode object ? object : target.putObject(path[p]);
+                }
+                target.put(path[path.length - 1], values.get(i));
+            }
+            return new SourceRow(line, fields, null);
+        }
+
+        @Override
+        public long line() {
+            return reader.getRecordLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped and a line that does not parse is a row error
+     */
+    private class NdjsonSource implements RowSource {
+        private final Reader reader;
+        private final int maxLineLength;
+        private final StringBuilder buffer = new StringBuilder();
+        private long line;
+
+        NdjsonSource(Reader reader, int maxLineLength) {
+            this.reader = reader;
+            this.maxLineLength = maxLineLength;
+        }
+
+        @Override
+        public SourceRow next() throws IOException {
+            while (true) {
+                buffer.setLength(0);
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (buffer.length() >= maxLineLength) {
+                        throw new IOException("Line " + (line + 1) + " exceeds " + maxLineLength + " characters");
+                    }
+                    buffer.append((char) c);
+                }
+                if (c == -1 && buffer.length() == 0) {
+                    return null;
+                }
+                line++;
+                String text = buffer.toString().strip();
+                if (line == 1 && text.startsWith("\uFEFF")) {
+                    text = text.substring(1).strip();
+                }
+                if (text.isEmpty()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(text);
+                    if (node instanceof ObjectNode object) {
+                        return new SourceRow(line, object, null);
+                    }
+                    return new SourceRow(line, null, "Line is not a JSON object");
+                } catch (JsonProcessingException e) {
+                    return new SourceRow(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.repository.DevoteeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DevoteeSearchService - Ranked devotee search backed by the pg_trgm index
+ * Matches legal name, name, initiated name, email and phone by substring (which covers
+ * prefixes) or by trigram word similarity for misspellings, ordered by relevance.
+ * Callers fall back to the LIKE queries while the index (add-devotee-search-index.sql)
+ * is not installed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DevoteeSearchService {
+
+    private final DevoteeRepository devoteeRepository;
+    private final ApplicationProperties applicationProperties;
+
+    private volatile boolean indexInstalled;
+
+    /**
+     * Whether ranked search can be used
+     */
+    public boolean isAvailable() {
+        return applicationProperties.getSearch().isTrigramEnabled() && indexInstalled;
+    }
+
+    /**
+     * Ids of matching devotees, most relevant first; page is 1-based like the devotee list endpoint
+     */
+    public Page<Long> searchIds(String term, Long statusId, List<String> allowedDistricts, int page, int size) {
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(normalized);
+        Pageable pageable = PageRequest.of(page - 1, size);
+
+        if (allowedDistricts != null && allowedDistricts.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Page<Long> ids;
+        try {
+            ids = allowedDistricts != null
+                    ? devoteeRepository.searchRankedIdsInDistricts(normalized, "%" + escaped + "%", escaped + "%",
+                            statusId, allowedDistricts, pageable)
+                    : devoteeRepository.searchRankedIds(normalized, "%" + escaped + "%", escaped + "%",
+                            statusId, pageable);
+        } catch (Exception e) {
+            // Index dropped underneath us; later requests use the LIKE queries until it is back
+            indexInstalled = false;
+            log.error("Error running ranked devotee search for: {}", normalized, e);
+            throw new RuntimeException("Failed to search devotees", e);
+        }
+
+        log.debug("Ranked devotee search for '{}' matched {} devotees", normalized, ids.getTotalElements());
+        return ids;
+    }
+
+    /**
+     * Check for the search index on startup and periodically, so running the script needs no restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.detect-interval-ms:600000}",
+               fixedDelayString = "${app.search.detect-interval-ms:600000}")
+    public void detectIndex() {
+        if (!applicationProperties.getSearch().isTrigramEnabled()) {
+            return;
+        }
+        boolean installed;
+        try {
+            installed = devoteeRepository.isSearchIndexInstalled();
+        } catch (Exception e) {
+            log.warn("Could not check for the devotee search index: {}", e.getMessage());
+            installed = false;
+        }
+        if (installed != indexInstalled) {
+            log.info(installed
+                    ? "Devotee search index detected; using ranked trigram search"
+                    : "Devotee search index not installed; using LIKE search (see add-devotee-search-index.sql)");
+        }
+        indexInstalled = installed;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
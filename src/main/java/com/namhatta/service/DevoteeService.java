@@ -4,11 +4,23 @@ import com.namhatta.dto.CreateDevoteeDto;
 import com.namhatta.dto.DevoteeDto;
 import com.namhatta.dto.UpdateDevoteeDto;
 import com.namhatta.entity.Devotee;
+import com.namhatta.entity.DevoteeAddress;
+import com.namhatta.event.AddressDataChangedEvent;
+import com.namhatta.event.DevoteeChangedEvent;
 import com.namhatta.mapper.DevoteeMapper;
 import com.namhatta.repository.DevoteeRepository;
+import com.namhatta.repository.DevotionalStatusRepository;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.repository.projection.DevoteeListReader;
+import com.namhatta.repository.specification.DevoteeFilter;
+import com.namhatta.repository.support.KeysetPage;
+import com.namhatta.repository.support.KeysetPageReader;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -29,73 +41,100 @@ import java.util.Optional;
 public class DevoteeService {
     
     private final DevoteeRepository devoteeRepository;
+    private final DevotionalStatusRepository devotionalStatusRepository;
+    private final KeysetPageReader keysetPageReader;
+    private final DevoteeListReader devoteeListReader;
     private final DevoteeMapper devoteeMapper;
+    private final DevoteeSearchService devoteeSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistrictAclIndex districtAclIndex;
     
     /**
      * Get filtered devotees with pagination and sorting
-     * Same behavior as Node.js getFilteredDevotees
+     * Same behavior as Node.js getFilteredDevotees; rows are read as DevoteeListItem projections
      */
     @Transactional(readOnly = true)
-    public Page<DevoteeDto> getFilteredDevotees(
-            List<String> allowedDistricts,
-            String status,
-            String search,
+    public Page<DevoteeListItem> getFilteredDevotees(
+            DevoteeFilter filter,
             String sortBy,
             String sortOrder,
             int page,
             int size) {
         
-        log.debug("Getting filtered devotees - districts: {}, status: {}, search: {}, sortBy: {}, sortOrder: {}, page: {}, size: {}",
-                allowedDistricts, status, search, sortBy, sortOrder, page, size);
+        log.debug("Getting filtered devotees - filter: {}, sortBy: {}, sortOrder: {}, page: {}, size: {}",
+                filter, sortBy, sortOrder, page, size);
         
-        // Create sort object
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Sort sort = Sort.by(direction, sortBy);
+        if (!DevoteeFilter.SORTABLE.contains(sortBy)) {
+            throw new ValidationException("sortBy must be one of " + DevoteeFilter.SORTABLE);
+        }
         
         // Create pageable (Spring uses 0-based indexing)
-        Pageable pageable = PageRequest.of(page - 1, size, sort);
-        
-        Page<Devotee> devotees;
-        
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-            // District supervisor - apply filtering
-            if (search != null && !search.trim().isEmpty()) {
-                if (status != null && !status.trim().isEmpty()) {
-                    devotees = devoteeRepository.findByDistrictsAndStatusAndSearch(
-                            allowedDistricts, status, search.trim(), pageable);
-                } else {
-                    devotees = devoteeRepository.findByDistrictsAndSearch(
-                            allowedDistricts, search.trim(), pageable);
-                }
-            } else {
-                if (status != null && !status.trim().isEmpty()) {
-                    devotees = devoteeRepository.findByDistrictsAndStatus(
-                            allowedDistricts, status, pageable);
-                } else {
-                    devotees = devoteeRepository.findByDistricts(allowedDistricts, pageable);
-                }
-            }
-        } else {
-            // Admin or Office - no district filtering
-            if (search != null && !search.trim().isEmpty()) {
-                if (status != null && !status.trim().isEmpty()) {
-                    devotees = devoteeRepository.findByStatusAndSearch(status, search.trim(), pageable);
-                } else {
-                    devotees = devoteeRepository.findBySearch(search.trim(), pageable);
-                }
-            } else {
-                if (status != null && !status.trim().isEmpty()) {
-                    devotees = devoteeRepository.findByStatus(status, pageable);
-                } else {
-                    devotees = devoteeRepository.findAll(pageable);
-                }
-            }
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(direction, sortBy));
+        
+        Optional<DevoteeFilter> resolved = resolveStatus(filter);
+        if (resolved.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        filter = resolved.get();
+        
+        // Text search goes through the trigram index when installed; results are ranked by relevance
+        if (filter.isRankable() && devoteeSearchService.isAvailable()) {
+            Page<Long> ids = devoteeSearchService.searchIds(filter.getSearch(), filter.getStatusId(),
+                    filter.getDistricts(), page, size);
+            return new PageImpl<>(devoteeListReader.readByIds(ids.getContent()), ids.getPageable(), ids.getTotalElements());
         }
         
+        Page<DevoteeListItem> devotees = devoteeListReader.read(
+                filter.toSpecification(devoteeSearchService.isAvailable()), pageable);
+        
         log.debug("Found {} devotees (total: {})", devotees.getContent().size(), devotees.getTotalElements());
         
-        // Convert to DTOs
-        return devotees.map(devoteeMapper::toDto);
+        return devotees;
+    }
+    
+    /**
+     * Get filtered devotees in cursor mode
+     * Seeks past the (sort key, id) position in the cursor instead of using OFFSET; the total
+     * is only counted when includeTotal is set. Filters match getFilteredDevotees.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<DevoteeListItem> getFilteredDevoteesAfter(
+            DevoteeFilter filter,
+            String sortBy,
+            String sortOrder,
+            String after,
+            int size,
+            boolean includeTotal) {
+        
+        log.debug("Getting filtered devotees after cursor - filter: {}, sortBy: {}, sortOrder: {}, size: {}",
+                filter, sortBy, sortOrder, size);
+        
+        Optional<DevoteeFilter> resolved = resolveStatus(filter);
+        if (resolved.isEmpty()) {
+            return new KeysetPage<>(List.of(), null, includeTotal ? 0L : null);
+        }
+        
+        KeysetPage<Long> ids = keysetPageReader.read(Devotee.class,
+                resolved.get().toSpecification(devoteeSearchService.isAvailable()), sortBy,
+                "desc".equalsIgnoreCase(sortOrder), DevoteeFilter.SORTABLE, after, size, includeTotal);
+        
+        log.debug("Found {} devotees after cursor (more: {})", ids.content().size(), ids.hasNext());
+        
+        return new KeysetPage<>(devoteeListReader.readByIds(ids.content()), ids.nextCursor(), ids.total());
+    }
+    
+    /**
+     * Replace a status name with its id so the filter compares devotional_status_id directly
+     * Empty when the name matches no status, i.e. no devotee can match
+     */
+    private Optional<DevoteeFilter> resolveStatus(DevoteeFilter filter) {
+        String status = filter.getStatus();
+        if (status == null || status.trim().isEmpty() || filter.getStatusId() != null) {
+            return Optional.of(filter);
+        }
+        return devotionalStatusRepository.findByName(status.trim())
+                .map(found -> filter.toBuilder().status(null).statusId(found.getId()).build());
     }
     
     /**
@@ -107,15 +146,7 @@ public class DevoteeService {
         
         log.debug("Getting devotee by ID: {}, allowed districts: {}", id, allowedDistricts);
         
-        Optional<Devotee> devoteeOpt;
-        
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-            // District supervisor - check if devotee is in allowed districts
-            devoteeOpt = devoteeRepository.findByIdAndDistricts(id, allowedDistricts);
-        } else {
-            // Admin or Office - no district filtering
-            devoteeOpt = devoteeRepository.findById(id);
-        }
+        Optional<Devotee> devoteeOpt = findInScope(id, allowedDistricts);
         
         if (devoteeOpt.isPresent()) {
             DevoteeDto dto = devoteeMapper.toDto(devoteeOpt.get());
@@ -141,6 +172,9 @@ public class DevoteeService {
             
             // Save devotee
             Devotee savedDevotee = devoteeRepository.save(devotee);
+            publishAddressChanges(savedDevotee);
+            eventPublisher.publishEvent(new DevoteeChangedEvent(
+                savedDevotee.getId(), null, DevoteeChangedEvent.Snapshot.of(savedDevotee)));
             
             // Convert back to DTO
             DevoteeDto result = devoteeMapper.toDto(savedDevotee);
@@ -164,13 +198,7 @@ public class DevoteeService {
         
         try {
             // First get the existing devotee with access control
-            Optional<Devotee> existingOpt;
-            
-            if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-                existingOpt = devoteeRepository.findByIdAndDistricts(id, allowedDistricts);
-            } else {
-                existingOpt = devoteeRepository.findById(id);
-            }
+            Optional<Devotee> existingOpt = findInScope(id, allowedDistricts);
             
             if (existingOpt.isEmpty()) {
                 log.warn("Devotee not found or access denied for update: {}", id);
@@ -178,12 +206,16 @@ public class DevoteeService {
             }
             
             Devotee existing = existingOpt.get();
+            DevoteeChangedEvent.Snapshot before = DevoteeChangedEvent.Snapshot.of(existing);
             
             // Update the entity with DTO data
             devoteeMapper.updateEntityFromDto(dto, existing);
             
             // Save updated devotee
             Devotee savedDevotee = devoteeRepository.save(existing);
+            publishAddressChanges(savedDevotee);
+            eventPublisher.publishEvent(new DevoteeChangedEvent(
+                id, before, DevoteeChangedEvent.Snapshot.of(savedDevotee)));
             
             // Convert back to DTO
             DevoteeDto result = devoteeMapper.toDto(savedDevotee);
@@ -213,7 +245,9 @@ public class DevoteeService {
                 return false;
             }
             
+            DevoteeChangedEvent.Snapshot before = DevoteeChangedEvent.Snapshot.of(devoteeOpt.get());
             devoteeRepository.deleteById(id);
+            eventPublisher.publishEvent(new DevoteeChangedEvent(id, before, null));
             
             log.info("Successfully deleted devotee ID: {}", id);
             return true;
@@ -235,9 +269,11 @@ public class DevoteeService {
         
         List<Devotee> devotees;
         
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-            // District supervisor - apply filtering
-            devotees = devoteeRepository.findByNamhattaIdAndDistricts(namhattaId, allowedDistricts);
+        if (allowedDistricts != null) {
+            // District supervisor - apply filtering; no districts means no devotees
+            devotees = allowedDistricts.isEmpty()
+                    ? List.of()
+                    : devoteeRepository.findByNamhattaIdAndDistricts(namhattaId, allowedDistricts);
         } else {
             // Admin or Office - no district filtering
             devotees = devoteeRepository.findByNamhattaId(namhattaId);
@@ -250,4 +286,38 @@ public class DevoteeService {
                 .map(devoteeMapper::toDto)
                 .toList();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Load a devotee if it is within the supervisor's districts; null districts means no restriction
+     * and an empty list matches nothing. The ACL index answers the scope check without a join; ids it
+     * does not know are checked in the query.
+     */
+    private Optional<Devotee> findInScope(Long id, List<String> allowedDistricts) {
+        if (allowedDistricts == null) {
+            // Admin or Office - no district filtering
+            return devoteeRepository.findById(id);
+        }
+        if (allowedDistricts.isEmpty()) {
+            return Optional.empty();
+        }
+        Boolean inScope = districtAclIndex.devoteeInDistricts(id, allowedDistricts);
+        if (inScope == null) {
+            return devoteeRepository.findByIdAndDistricts(id, allowedDistricts);
+        }
+        return inScope ? devoteeRepository.findById(id) : Optional.empty();
+    }
+    
+    /**
+     * Notify geographic indexes about newly written devotee addresses
+     */
+    private void publishAddressChanges(Devotee devotee) {
+        if (devotee.getAddresses() == null) {
+            return;
+        }
+        for (DevoteeAddress devoteeAddress : devotee.getAddresses()) {
+            if (devoteeAddress.getAddress() != null) {
+                eventPublisher.publishEvent(AddressDataChangedEvent.of(devoteeAddress.getAddress()));
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.repository.DevoteeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * DevoteeStatusCounters - In-memory devotee counts keyed by (district set, devotional status)
+ * Keying by the full set of a devotee's districts keeps scoped counts exact for devotees whose
+ * present and permanent addresses are in different districts: a scope counts every key whose
+ * district set intersects it. The number of distinct district sets stays close to the number
+ * of districts, so scoped lookups are cheap.
+ * DevoteeService events apply changes after commit; a periodic reconciliation rebuilds the table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DevoteeStatusCounters {
+
+    private final DevoteeRepository devoteeRepository;
+    private final ApplicationProperties applicationProperties;
+
+    private final Object lock = new Object();
+    private CounterState state; // null until the first reconciliation
+    private List<DevoteeChangedEvent> changesDuringReconcile; // non-null while a reconciliation runs
+
+    /**
+     * Whether the counters have been loaded; callers fall back to SQL until then
+     */
+    public boolean isLoaded() {
+        synchronized (lock) {
+            return state != null;
+        }
+    }
+
+    /**
+     * Devotee count per status id, optionally limited to devotees with an address in the given districts
+     * Devotees without a status are not included.
+     */
+    public Map<Long, Long> countsByStatus(List<String> allowedDistricts) {
+        Map<Long, Long> counts = new HashMap<>();
+        synchronized (lock) {
+            if (state == null) {
+                return counts;
+            }
+            Set<String> scope = scopeOf(allowedDistricts);
+            state.counts.forEach((key, count) -> {
+                if (key.statusId() != null && inScope(key.districts(), scope)) {
+                    counts.merge(key.statusId(), count, Long::sum);
+                }
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * Total devotees, optionally limited to devotees with an address in the given districts
+     */
+    public long totalDevotees(List<String> allowedDistricts) {
+        long total = 0;
+        synchronized (lock) {
+            if (state == null) {
+                return 0;
+            }
+            Set<String> scope = scopeOf(allowedDistricts);
+            for (Map.Entry<CounterKey, Long> entry : state.counts.entrySet()) {
+                if (inScope(entry.getKey().districts(), scope)) {
+                    total += entry.getValue();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Apply a committed devotee change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Before snapshot refreshes that read these counts
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevoteeChanged(DevoteeChangedEvent event) {
+        synchronized (lock) {
+            if (changesDuringReconcile != null) {
+                changesDuringReconcile.add(event);
+            }
+            if (state != null) {
+                state.upsert(event.devoteeId(), CounterKey.of(event.after()));
+            }
+        }
+    }
+
+    /**
+     * Rebuild the counters from the database on startup and periodically
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.counters.reconcile-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        if (!applicationProperties.getCounters().isEnabled()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        synchronized (lock) {
+            changesDuringReconcile = new ArrayList<>();
+        }
+
+        try {
+            Map<Long, Long> statuses = new HashMap<>();
+            Map<Long, Set<String>> districts = new HashMap<>();
+            try (Stream<Object[]> rows = devoteeRepository.streamStatusAndDistricts()) {
+                rows.forEach(row -> {
+                    Long devoteeId = (Long) row[0];
+                    statuses.put(devoteeId, (Long) row[1]);
+                    Set<String> devoteeDistricts = districts.computeIfAbsent(devoteeId, id -> new TreeSet<>());
+                    if (row[2] != null) {
+                        devoteeDistricts.add((String) row[2]);
+                    }
+                });
+            }
+
+            CounterState fresh = new CounterState();
+            statuses.forEach((devoteeId, statusId) ->
+                    fresh.upsert(devoteeId, new CounterKey(Set.copyOf(districts.get(devoteeId)), statusId)));
+
+            synchronized (lock) {
+                // Replaying is idempotent: each change sets the devotee's full state
+                for (DevoteeChangedEvent event : changesDuringReconcile) {
+                    fresh.upsert(event.devoteeId(), CounterKey.of(event.after()));
+                }
+                state = fresh;
+            }
+
+            log.info("Devotee status counters reconciled: {} devotees, {} cells in {} ms",
+                    fresh.devotees.size(), fresh.counts.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Error reconciling devotee status counters", e);
+        } finally {
+            synchronized (lock) {
+                changesDuringReconcile = null;
+            }
+        }
+    }
+
+    private static Set<String> scopeOf(List<String> allowedDistricts) {
+        return allowedDistricts == null ? null : new HashSet<>(allowedDistricts);
+    }
+
+    private static boolean inScope(Set<String> districts, Set<String> scope) {
+        if (scope == null) {
+            return true;
+        }
+        for (String district : districts) {
+            if (scope.contains(district)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record CounterKey(Set<String> districts, Long statusId) {
+
+        static CounterKey of(DevoteeChangedEvent.Snapshot snapshot) {
+            return snapshot == null ? null : new CounterKey(Set.copyOf(snapshot.districts()), snapshot.statusId());
+        }
+    }
+
+    /**
+     * Mutable counter contents; only touched while holding the lock (or before publication)
+     */
+    private static final class CounterState {
+        private final Map<Long, CounterKey> devotees = new HashMap<>();
+        private final Map<CounterKey, Long> counts = new HashMap<>();
+
+        void upsert(Long devoteeId, CounterKey next) {
+            CounterKey previous = next == null ? devotees.remove(devoteeId) : devotees.put(devoteeId, next);
+            if (previous != null) {
+                counts.merge(previous, -1L, (current, change) -> current + change == 0 ? null : current + change);
+            }
+            if (next != null) {
+                counts.merge(next, 1L, Long::sum);
+            }
+        }
+    }
+}
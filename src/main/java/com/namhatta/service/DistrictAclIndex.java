@@ -0,0 +1,349 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.DevoteeChangedEvent;
+import com.namhatta.event.NamhattaChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * DistrictAclIndex - In-memory namhatta→district and devotee→district index for supervisor scope checks
+ * Districts are numbered, a supervisor's districts become a bitmap over those numbers, and each
+ * namhatta or devotee id maps to its district numbers through a flat array, so an access check is an
+ * array read and a bit test rather than lazy address loads or a join. Service events keep the index
+ * current after commit; a periodic reload corrects drift.
+ * Checks answer null when the index cannot tell (not loaded yet, or an id it has not seen), and callers
+ * then fall back to the database.
+ */
+@Component
+@Slf4j
+public class DistrictAclIndex {
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationProperties applicationProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private AclState state; // null until the first load
+    private List<Object> changesDuringReconcile; // non-null while a reload runs
+
+    public DistrictAclIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            ApplicationProperties applicationProperties) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(applicationProperties.getAcl().getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Whether the namhatta has an address in any of the districts; null when unknown
+     */
+    public Boolean namhattaInDistricts(Long namhattaId, Collection<String> districts) {
+        return check(namhattaId, districts, true);
+    }
+
+    /**
+     * Whether the devotee has an address in any of the districts; null when unknown
+     */
+    public Boolean devoteeInDistricts(Long devoteeId, Collection<String> districts) {
+        return check(devoteeId, districts, false);
+    }
+
+    /**
+     * Ids of the namhattas with an address in any of the districts; null when the index is not loaded
+     */
+    public List<Long> namhattaIdsInDistricts(Collection<String> districts) {
+        if (!applicationProperties.getAcl().isIndexEnabled()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return null;
+            }
+            return state.namhattas.idsIn(state.districtSet(districts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Boolean check(Long id, Collection<String> districts, boolean namhatta) {
+        if (id == null || !applicationProperties.getAcl().isIndexEnabled()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return null;
+            }
+            return (namhatta ? state.namhattas : state.devotees).inAny(id, state.districtSet(districts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Before listeners that may re-read scoped data
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevoteeChanged(DevoteeChangedEvent event) {
+        apply(event);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNamhattaChanged(NamhattaChangedEvent event) {
+        apply(event);
+    }
+
+    private void apply(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringReconcile != null) {
+                changesDuringReconcile.add(event);
+            }
+            if (state != null) {
+                state.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Load the index from the database on startup and periodically
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.acl.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.acl.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!applicationProperties.getAcl().isIndexEnabled()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringReconcile = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            AclState fresh = new AclState();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                load(fresh, fresh.namhattas, """
+                        SELECT n.id, a.district_name_english
+                        FROM namhattas n
+                        LEFT JOIN namhatta_addresses na ON na.namhatta_id = n.id
+                        LEFT JOIN addresses a ON a.id = na.address_id
+                        ORDER BY n.id
+                        """);
+                load(fresh, fresh.devotees, """
+                        SELECT d.id, a.district_name_english
+                        FROM devotees d
+                        LEFT JOIN devotee_addresses da ON da.devotee_id = d.id
+                        LEFT JOIN addresses a ON a.id = da.address_id
+                        ORDER BY d.id
+                        """);
+            });
+
+            lock.writeLock().lock();
+            try {
+                // Replaying is idempotent: each change sets the full district list of one id
+                changesDuringReconcile.forEach(fresh::apply);
+                state = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("District ACL index loaded: {} districts, {} namhattas, {} devotees in {} ms",
+                    fresh.districtIds.size(), fresh.namhattas.size, fresh.devotees.size,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Error loading district ACL index", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringReconcile = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Read (id, district) rows ordered by id and store each id's districts
+     */
+    private void load(AclState target, AclTable table, String sql) {
+        long[] currentId = {-1};
+        Set<String> districts = new HashSet<>();
+        cursorTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            if (id != currentId[0]) {
+                if (currentId[0] >= 0) {
+                    target.put(table, currentId[0], districts);
+                }
+                currentId[0] = id;
+                districts.clear();
+            }
+            String district = rs.getString(2);
+            if (district != null) {
+                districts.add(district);
+            }
+        });
+        if (currentId[0] >= 0) {
+            target.put(table, currentId[0], districts);
+        }
+    }
+
+    /**
+     * District numbering plus both tables; only touched under the write lock once published
+     */
+    private static final class AclState {
+        private final Map<String, Integer> districtIds = new HashMap<>();
+        private final AclTable namhattas = new AclTable();
+        private final AclTable devotees = new AclTable();
+
+        void apply(Object event) {
+            if (event instanceof DevoteeChangedEvent devoteeEvent) {
+                if (devoteeEvent.after() == null) {
+                    devotees.remove(devoteeEvent.devoteeId());
+                } else {
+                    put(devotees, devoteeEvent.devoteeId(), devoteeEvent.after().districts());
+                }
+            } else if (event instanceof NamhattaChangedEvent namhattaEvent) {
+                if (namhattaEvent.after() == null) {
+                    namhattas.remove(namhattaEvent.namhattaId());
+                } else {
+                    Set<String> districts = new HashSet<>();
+                    for (NamhattaChangedEvent.Location location : namhattaEvent.after().locations()) {
+                        districts.add(location.district());
+                    }
+                    put(namhattas, namhattaEvent.namhattaId(), districts);
+                }
+            }
+        }
+
+        void put(AclTable table, long id, Collection<String> districts) {
+            int[] numbers = districts.stream()
+                    .filter(Objects::nonNull)
+                    .mapToInt(district -> districtIds.computeIfAbsent(district, name -> districtIds.size()))
+                    .distinct()
+                    .toArray();
+            table.put(id, numbers);
+        }
+
+        /**
+         * Bitmap of district numbers; districts the index has never seen match nothing
+         */
+        BitSet districtSet(Collection<String> districts) {
+            BitSet set = new BitSet();
+            if (districts != null) {
+                for (String district : districts) {
+                    Integer number = districtIds.get(district);
+                    if (number != null) {
+                        set.set(number);
+                    }
+                }
+            }
+            return set;
+        }
+    }
+
+    /**
+     * Entity id → district numbers as a flat int array indexed by id
+     * A slot holds UNKNOWN, NONE (no addresses), the district number + 2 for a single district, or MULTI,
+     * in which case the numbers are in the multi map. Ids beyond MAX_ID are left to the database.
+     */
+    private static final class AclTable {
+        private static final int UNKNOWN = 0;
+        private static final int NONE = 1;
+        private static final int MULTI = -1;
+        private static final long MAX_ID = 1L << 28;
+
+        private int[] slots = new int[1024];
+        private final Map<Long, int[]> multi = new HashMap<>();
+        private int size;
+
+        void put(long id, int[] districts) {
+            if (id < 0 || id >= MAX_ID) {
+                return;
+            }
+            int index = (int) id;
+            if (index >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(index + 1, slots.length * 2));
+            }
+            if (slots[index] == UNKNOWN) {
+                size++;
+            }
+            multi.remove(id);
+            if (districts.length == 0) {
+                slots[index] = NONE;
+            } else if (districts.length == 1) {
+                slots[index] = districts[0] + 2;
+            } else {
+                slots[index] = MULTI;
+                multi.put(id, districts);
+            }
+        }
+
+        void remove(long id) {
+            if (id >= 0 && id < slots.length && slots[(int) id] != UNKNOWN) {
+                slots[(int) id] = UNKNOWN;
+                multi.remove(id);
+                size--;
+            }
+        }
+
+        Boolean inAny(long id, BitSet districts) {
+            int slot = id >= 0 && id < slots.length ? slots[(int) id] : UNKNOWN;
+            if (slot == UNKNOWN) {
+                return null;
+            }
+            if (slot == NONE) {
+                return false;
+            }
+            if (slot != MULTI) {
+                return districts.get(slot - 2);
+            }
+            for (int district : multi.get(id)) {
+                if (districts.get(district)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<Long> idsIn(BitSet districts) {
+            List<Long> ids = new ArrayList<>();
+            if (districts.isEmpty()) {
+                return ids;
+            }
+            for (int index = 0; index < slots.length; index++) {
+                int slot = slots[index];
+                if (slot >= 2 ? districts.get(slot - 2) : slot == MULTI && inAny(index, districts)) {
+                    ids.add((long) index);
+                }
+            }
+            return ids;
+        }
+    }
+}
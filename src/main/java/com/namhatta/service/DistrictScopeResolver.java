@@ -0,0 +1,85 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.NamhattaChangedEvent;
+import com.namhatta.event.UserChangedEvent;
+import com.namhatta.util.BoundedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * DistrictScopeResolver - The districts a supervisor may access, resolved once and shared by every scoped query
+ * A supervisor's scope is the set of districts of the active namhattas they supervise. It is computed at
+ * login or on first use, cached by user id, and recomputed after a namhatta's supervisor or addresses change
+ * or the user changes. Entries also expire after app.acl.scope-cache-ttl-ms to pick up changes made through
+ * another instance.
+ */
+@Component
+@Slf4j
+public class DistrictScopeResolver {
+
+    private static final String SUPERVISOR_DISTRICTS = """
+            SELECT DISTINCT a.district_name_english
+            FROM namhattas n
+            JOIN namhatta_addresses na ON na.namhatta_id = n.id
+            JOIN addresses a ON a.id = na.address_id
+            WHERE n.district_supervisor_id = ? AND n.is_active = true
+              AND a.district_name_english IS NOT NULL AND TRIM(a.district_name_english) <> ''
+            ORDER BY a.district_name_english
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationProperties applicationProperties;
+    private final BoundedCache<Long, Scope> scopes;
+
+    private record Scope(List<String> districts, long validUntil) {
+    }
+
+    public DistrictScopeResolver(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationProperties = applicationProperties;
+        this.scopes = new BoundedCache<>(applicationProperties.getAcl().getScopeCacheSize());
+    }
+
+    /**
+     * Districts supervised by the user, sorted; an immutable list that may be empty
+     * Never null: null is reserved for unrestricted users, and an empty scope matches nothing.
+     */
+    public List<String> districtsFor(Long userId) {
+        if (userId == null) {
+            return List.of();
+        }
+
+        long now = System.currentTimeMillis();
+        Scope cached = scopes.get(userId);
+        if (cached != null && cached.validUntil() > now) {
+            return cached.districts();
+        }
+
+        List<String> districts = List.copyOf(jdbcTemplate.queryForList(SUPERVISOR_DISTRICTS, String.class, userId));
+        long ttl = applicationProperties.getAcl().getScopeCacheTtlMs();
+        if (ttl > 0) {
+            scopes.put(userId, new Scope(districts, now + ttl));
+        }
+        log.debug("Resolved district scope for user {}: {}", userId, districts);
+        return districts;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNamhattaChanged(NamhattaChangedEvent event) {
+        // The event does not carry the previous supervisor, and supervisors are few, so recompute them all
+        scopes.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            scopes.invalidate(event.userId());
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.dto.DuplicatePairDto;
+import com.namhatta.dto.DuplicateScanStatusDto;
+import com.namhatta.dto.PagedResponse;
+import com.namhatta.util.PhoneticKey;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DuplicateDetectionService - Background scan for duplicate devotee records
+ * Each devotee gets blocking keys (normalized phone, email local part, phonetic legal name plus
+ * father's name) and candidates are only compared within a block, so the work grows with block
+ * sizes rather than with the square of the devotee count. Keys are written to a scratch table and
+ * PostgreSQL groups and sorts them; the scan then reads blocks in key order through a cursor and
+ * holds one block in memory at a time. Scored pairs go to devotee_duplicate_pairs for review.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    public static final Set<String> REVIEW_STATUSES = Set.of("PENDING", "CONFIRMED", "DISMISSED");
+
+    private static final JaroWinklerSimilarity SIMILARITY = new JaroWinklerSimilarity();
+
+    private static final String BLOCK_QUERY = """
+            SELECT k.block_key, d.id, d.legal_name, d.father_name, d.phone, d.email, d.dob, d.gender
+            FROM devotee_blocking_keys k
+            JOIN devotees d ON d.id = k.devotee_id
+            WHERE k.block_key IN (SELECT block_key FROM devotee_blocking_keys
+                                  GROUP BY block_key HAVING COUNT(*) BETWEEN 2 AND :maxBlockSize)
+            ORDER BY k.block_key, d.id
+            """;
+
+    private static final String UPSERT_PAIR = """
+            INSERT INTO devotee_duplicate_pairs (devotee_id_a, devotee_id_b, score, reasons, detected_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (devotee_id_a, devotee_id_b)
+            DO UPDATE SET score = EXCLUDED.score, reasons = EXCLUDED.reasons, detected_at = EXCLUDED.detected_at
+            """;
+
+    private static final String REPORT_FROM = """
+            FROM devotee_duplicate_pairs p
+            JOIN devotees a ON a.id = p.devotee_id_a
+            JOIN devotees b ON b.id = p.devotee_id_b
+            WHERE p.status = :status AND p.score >= :minScore
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate cursorTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties applicationProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile DuplicateScanStatusDto lastScan = DuplicateScanStatusDto.builder().build();
+
+    public DuplicateDetectionService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                     ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplate fetching = new JdbcTemplate(dataSource);
+        fetching.setFetchSize(applicationProperties.getDuplicates().getBatchSize());
+        this.cursorTemplate = new NamedParameterJdbcTemplate(fetching);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public DuplicateScanStatusDto getLastScan() {
+        return lastScan;
+    }
+
+    /**
+     * Rebuild the duplicate report; runs on app.duplicates.cron or when an admin starts it
+     * Pending pairs no longer detected are removed; confirmed and dismissed pairs are kept.
+     */
+    @Async
+    @Scheduled(cron = "${app.duplicates.cron:-}")
+    public void scan() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Duplicate scan already running; skipping");
+            return;
+        }
+
+        ApplicationProperties.Duplicates settings = applicationProperties.getDuplicates();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.currentTimeMillis();
+        ScanCounts counts = new ScanCounts();
+        lastScan = DuplicateScanStatusDto.builder().running(true).startedAt(startedAt).build();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBlockingKeys(settings, counts));
+            transactionTemplate.executeWithoutResult(status -> {
+                compareBlocks(settings, Timestamp.valueOf(startedAt), counts);
+                jdbcTemplate.update("DELETE FROM devotee_duplicate_pairs WHERE status = 'PENDING' AND detected_at < :startedAt",
+                        new MapSqlParameterSource("startedAt", Timestamp.valueOf(startedAt)));
+                jdbcTemplate.getJdbcOperations().execute("TRUNCATE devotee_blocking_keys");
+            });
+
+            lastScan = counts.toStatus(startedAt, started, null);
+            log.info("Duplicate scan finished - devotees: {}, blocks: {}, oversized: {}, comparisons: {}, pairs: {}, {} ms",
+                    counts.devotees, counts.blocks, counts.oversizedKeys.size(), counts.comparisons, counts.pairs,
+                    lastScan.getDurationMs());
+        } catch (Exception e) {
+            log.error("Duplicate scan failed", e);
+            lastScan = counts.toStatus(startedAt, started, "Duplicate scan failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Pairs in the report with the given review status, best matches first
+     */
+    public PagedResponse<DuplicatePairDto> getPairs(String status, Double minScore, int page, int size) {
+        String reviewStatus = reviewStatus(status != null ? status : "PENDING");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", reviewStatus)
+                .addValue("minScore", minScore != null ? minScore : 0.0)
+                .addValue("limit", size)
+                .addValue("offset", (long) (page - 1) * size);
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + REPORT_FROM, params, Long.class);
+        List<DuplicatePairDto> pairs = jdbcTemplate.query("""
+                SELECT p.id, p.score, p.reasons, p.status, p.detected_at, p.reviewed_at,
+                       a.id AS a_id, a.legal_name AS a_legal_name, a.father_name AS a_father_name, a.phone AS a_phone,
+                       a.email AS a_email, a.dob AS a_dob, a.gender AS a_gender,
+                       b.id AS b_id, b.legal_name AS b_legal_name, b.father_name AS b_father_name, b.phone AS b_phone,
+                       b.email AS b_email, b.dob AS b_dob, b.gender AS b_gender
+                """ + REPORT_FROM + "ORDER BY p.score DESC, p.id LIMIT :limit OFFSET :offset", params,
+                (rs, rowNum) -> DuplicatePairDto.builder()
+                        .id(rs.getLong("id"))
+                        .score(rs.getDouble("score"))
+                        .reasons(rs.getString("reasons") != null ? List.of(rs.getString("reasons").split(",")) : List.of())
+                        .status(rs.getString("status"))
+                        .detectedAt(toLocalDateTime(rs.getTimestamp("detected_at")))
+                        .reviewedAt(toLocalDateTime(rs.getTimestamp("reviewed_at")))
+                        .first(summary(rs, "a_"))
+                        .second(summary(rs, "b_"))
+                        .build());
+
+        int totalCount = total != null ? total.intValue() : 0;
+        return PagedResponse.<DuplicatePairDto>builder()
+                .data(pairs)
+                .page(page)
+                .size(size)
+                .total(totalCount)
+                .totalPages((totalCount + size - 1) / size)
+                .build();
+    }
+
+    /**
+     * Record a review decision; PENDING puts the pair back in the review queue
+     */
+    public void reviewPair(Long id, String status) {
+        String reviewStatus = reviewStatus(status);
+        int updated = jdbcTemplate.update("""
+                UPDATE devotee_duplicate_pairs
+                SET status = :status, reviewed_at = CASE WHEN :status = 'PENDING' THEN NULL ELSE NOW() END
+                WHERE id = :id
+                """, new MapSqlParameterSource("status", reviewStatus).addValue("id", id));
+        if (updated == 0) {
+            throw new EntityNotFoundException("Duplicate pair not found with id: " + id);
+        }
+        log.info("Duplicate pair {} marked {}", id, reviewStatus);
+    }
+
+    // Scan passes
+
+    /**
+     * Pass 1: stream every devotee once and write its blocking keys
+     */
+    private void writeBlockingKeys(ApplicationProperties.Duplicates settings, ScanCounts counts) {
+        jdbcTemplate.getJdbcOperations().execute("TRUNCATE devotee_blocking_keys");
+        List<Object[]> batch = new ArrayList<>(settings.getBatchSize());
+
+        cursorTemplate.getJdbcOperations().query("SELECT id, legal_name, father_name, phone, email FROM devotees",
+                (RowCallbackHandler) rs -> {
+                    counts.devotees++;
+                    long id = rs.getLong("id");
+                    for (String key : blockingKeys(rs.getString("legal_name"), rs.getString("father_name"),
+                            rs.getString("phone"), rs.getString("email"))) {
+                        batch.add(new Object[]{key, id});
+                        counts.keys++;
+                    }
+                    if (batch.size() >= settings.getBatchSize()) {
+                        insertKeys(batch);
+                    }
+                });
+        insertKeys(batch);
+
+        // At most devotees * 3 / maxBlockSize keys, so this stays small
+        counts.oversizedKeys = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT block_key FROM devotee_blocking_keys GROUP BY block_key HAVING COUNT(*) > :maxBlockSize",
+                new MapSqlParameterSource("maxBlockSize", settings.getMaxBlockSize()), String.class));
+    }
+
+    private void insertKeys(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(
+                    "INSERT INTO devotee_blocking_keys (block_key, devotee_id) VALUES (?, ?)", batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Pass 2: read blocks of two or more devotees in key order and score every pair within each block
+     */
+    private void compareBlocks(ApplicationProperties.Duplicates settings, Timestamp detectedAt, ScanCounts counts) {
+        List<Candidate> block = new ArrayList<>();
+        String[] blockKey = new String[1];
+        List<Object[]> pairs = new ArrayList<>(settings.getBatchSize());
+
+        cursorTemplate.query(BLOCK_QUERY, new MapSqlParameterSource("maxBlockSize", settings.getMaxBlockSize()),
+                (RowCallbackHandler) rs -> {
+                    String key = rs.getString("block_key");
+                    if (!key.equals(blockKey[0])) {
+                        compareBlock(blockKey[0], block, settings, detectedAt, pairs, counts);
+                        block.clear();
+                        blockKey[0] = key;
+                    }
+                    block.add(Candidate.of(rs));
+                });
+        compareBlock(blockKey[0], block, settings, detectedAt, pairs, counts);
+        upsertPairs(pairs);
+    }
+
+    private void compareBlock(String blockKey, List<Candidate> block, ApplicationProperties.Duplicates settings,
+                              Timestamp detectedAt, List<Object[]> pairs, ScanCounts counts) {
+        if (block.size() < 2) {
+            return;
+        }
+        counts.blocks++;
+        for (int i = 0; i < block.size(); i++) {
+            for (int j = i + 1; j < block.size(); j++) {
+                Candidate a = block.get(i);
+                Candidate b = block.get(j);
+                // Pairs sharing several keys meet in several blocks; only the first shared key scores them
+                if (!blockKey.equals(firstSharedKey(a, b, counts.oversizedKeys))) {
+                    continue;
+                }
+                counts.comparisons++;
+                List<String> reasons = new ArrayList<>();
+                double score = score(a, b, reasons);
+                if (score >= settings.getMinScore()) {
+                    pairs.add(new Object[]{a.id(), b.id(), Math.round(score * 1000) / 1000.0,
+                            String.join(",", reasons), detectedAt});
+                    counts.pairs++;
+                    if (pairs.size() >= settings.getBatchSize()) {
+                        upsertPairs(pairs);
+                    }
+                }
+            }
+        }
+    }
+
+    private void upsertPairs(List<Object[]> pairs) {
+        if (!pairs.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(UPSERT_PAIR, pairs);
+            pairs.clear();
+        }
+    }
+
+    // Keys and scoring
+
+    /**
+     * Blocking keys of one devotee, sorted; devotees sharing any key are compared
+     */
+    static SortedSet<String> blockingKeys(String legalName, String fatherName, String phone, String email) {
+        SortedSet<String> keys = new TreeSet<>();
+        String normalizedPhone = normalizePhone(phone);
+        if (normalizedPhone != null) {
+            keys.add("p:" + normalizedPhone);
+        }
+        String emailLocal = emailLocalPart(normalizeEmail(email));
+        if (emailLocal != null && emailLocal.length() >= 3) {
+            keys.add("e:" + emailLocal);
+        }
+        String nameKey = PhoneticKey.of(legalName);
+        if (!nameKey.isEmpty()) {
+            keys.add("n:" + nameKey + "|" + PhoneticKey.of(fatherName));
+        }
+        return keys;
+    }
+
+    private static String firstSharedKey(Candidate a, Candidate b, Set<String> skippedKeys) {
+        for (String key : a.keys()) {
+            if (b.keys().contains(key) && !skippedKeys.contains(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Match score from 0 to 1: name similarity carries most weight, shared contact details add to it,
+     * and conflicting date of birth or gender take it away
+     */
+    private static double score(Candidate a, Candidate b, List<String> reasons) {
+        double nameSimilarity = similarity(a.legalName(), b.legalName());
+        double score = 0.4 * nameSimilarity;
+        if (nameSimilarity >= 0.9) {
+            reasons.add("similar name");
+        }
+
+        if (a.fatherName() != null && b.fatherName() != null) {
+            double fatherSimilarity = similarity(a.fatherName(), b.fatherName());
+            score += 0.2 * fatherSimilarity;
+            if (fatherSimilarity >= 0.9) {
+                reasons.add("similar father name");
+            }
+        } else {
+            score += 0.1; // Unknown father name neither supports nor contradicts
+        }
+
+        if (a.phone() != null && a.phone().equals(b.phone())) {
+            score += 0.2;
+            reasons.add("same phone");
+        }
+
+        if (a.email() != null && a.email().equals(b.email())) {
+            score += 0.2;
+            reasons.add("same email");
+        } else if (a.emailLocal() != null && a.emailLocal().equals(b.emailLocal())) {
+            score += 0.1;
+            reasons.add("same email name");
+        }
+
+        if (a.dob() != null && b.dob() != null) {
+            if (a.dob().equals(b.dob())) {
+                score += 0.1;
+                reasons.add("same date of birth");
+            } else {
+                score -= 0.2;
+            }
+        }
+
+        if (a.gender() != null && b.gender() != null && !a.gender().equals(b.gender())) {
+            score -= 0.3;
+        }
+
+        return Math.max(0.0, Math.min(1.0, score));
+    }
+
+    private static double similarity(String a, String b) {
+        if (a == null || b == null) {
+            return 0.0;
+        }
+        return SIMILARITY.apply(a, b);
+    }
+
+    /**
+     * Last ten digits; null for short numbers and single-digit placeholders such as 0000000000
+     */
+    private static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < 7 || digits.chars().distinct().count() == 1) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    private static String normalizeEmail(String email) {
+        if (email == null || email.indexOf('@') <= 0) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Local part without dots or a +tag, so j.doe+seva@ and jdoe@ match
+     */
+    private static String emailLocalPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        String local = email.substring(0, email.indexOf('@'));
+        int tag = local.indexOf('+');
+        return (tag >= 0 ? local.substring(0, tag) : local).replace(".", "");
+    }
+
+    private static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]+", " ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String reviewStatus(String status) {
+        String normalized = status == null ? "" : status.trim().toUpperCase(Locale.ROOT);
+        if (!REVIEW_STATUSES.contains(normalized)) {
+            throw new ValidationException("status must be one of PENDING, CONFIRMED, DISMISSED");
+        }
+        return normalized;
+    }
+
+    private static DuplicatePairDto.DevoteeSummary summary(ResultSet rs, String prefix) throws SQLException {
+        return DuplicatePairDto.DevoteeSummary.builder()
+                .id(rs.getLong(prefix + "id"))
+                .legalName(rs.getString(prefix + "legal_name"))
+                .fatherName(rs.getString(prefix + "father_name"))
+                .phone(rs.getString(prefix + "phone"))
+                .email(rs.getString(prefix + "email"))
+                .dob(rs.getString(prefix + "dob"))
+                .gender(rs.getString(prefix + "gender"))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * A devotee as compared within a block, fields normalized once
+     */
+    private record Candidate(long id, String legalName, String fatherName, String phone, String email,
+                             String emailLocal, String dob, String gender, SortedSet<String> keys) {
+
+        static Candidate of(ResultSet rs) throws SQLException {
+            String legalName = rs.getString("legal_name");
+            String fatherName = rs.getString("father_name");
+            String phone = rs.getString("phone");
+            String email = normalizeEmail(rs.getString("email"));
+            return new Candidate(rs.getLong("id"), normalizeName(legalName), normalizeName(fatherName),
+                    normalizePhone(phone), email, emailLocalPart(email), blankToNull(rs.getString("dob")),
+                    blankToNull(rs.getString("gender")), blockingKeys(legalName, fatherName, phone, rs.getString("email")));
+        }
+    }
+
+    private static class ScanCounts {
+        long devotees;
+        long keys;
+        long blocks;
+        Set<String> oversizedKeys = Set.of();
+        long comparisons;
+        long pairs;
+
+        DuplicateScanStatusDto toStatus(LocalDateTime startedAt, long started, String error) {
+            return DuplicateScanStatusDto.builder()
+                    .running(false)
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .devoteesScanned(devotees)
+                    .blockingKeys(keys)
+                    .blocks(blocks)
+                    .oversizedBlocks(oversizedKeys.size())
+                    .comparisons(comparisons)
+                    .pairsFound(pairs)
+                    .durationMs(System.currentTimeMillis() - started)
+                    .error(error)
+                    .build();
+        }
+    }
+}
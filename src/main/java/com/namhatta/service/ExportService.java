@@ -0,0 +1,304 @@
+package com.namhatta.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.util.CsvRowWriter;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * ExportService - Full data dumps of devotees, namhattas and program updates as CSV or NDJSON
+ * Rows are read through a server-side cursor (read-only transaction plus JDBC fetch size) and written
+ * to the output as they arrive, so heap use is one fetch batch no matter how many rows are exported.
+ * Supervisors' exports are limited to their districts.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final String DISTRICT_SCOPE = "sa.district_name_english IN (:districts)";
+
+    private final NamedParameterJdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exportable datasets: column names (also the CSV header and NDJSON keys) and the query selecting them
+     * in that order; {scope} is replaced with the district condition or removed for unscoped exports
+     */
+    public enum Dataset {
+        DEVOTEES(List.of("id", "legalName", "name", "initiatedName", "gender", "dob", "email", "phone",
+                "fatherName", "motherName", "husbandName", "maritalStatus", "education", "occupation",
+                "harinamDate", "pancharatrikDate", "devotionalStatus", "namhattaId", "namhattaName",
+                "country", "state", "district", "subDistrict", "village", "pincode", "createdAt", "updatedAt"), """
+                SELECT d.id, d.legal_name, d.name, d.initiated_name, d.gender, d.dob, d.email, d.phone,
+                       d.father_name, d.mother_name, d.husband_name, d.marital_status, d.education, d.occupation,
+                       d.harinam_date, d.pancharatrik_date, s.name, d.namhatta_id, n.name,
+                       a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english,
+                       a.village_name_english, a.pincode, d.created_at, d.updated_at
+                FROM devotees d
+                LEFT JOIN devotional_statuses s ON s.id = d.devotional_status_id
+                LEFT JOIN namhattas n ON n.id = d.namhatta_id
+                LEFT JOIN LATERAL (
+                    SELECT pa.* FROM devotee_addresses pda JOIN addresses pa ON pa.id = pda.address_id
+                    WHERE pda.devotee_id = d.id
+                    ORDER BY (pda.address_type = 'present') DESC, pda.id
+                    LIMIT 1
+                ) a ON true
+                {scope: WHERE EXISTS (SELECT 1 FROM devotee_addresses sda JOIN addresses sa ON sa.id = sda.address_id
+                                      WHERE sda.devotee_id = d.id AND {districts})}
+                ORDER BY d.id
+                """),
+        NAMHATTAS(List.of("id", "name", "description", "contactPerson", "contactPhone", "contactEmail",
+                "establishedDate", "regularProgramDay", "regularProgramTime", "isApproved", "isActive",
+                "shraddhakutirName", "districtSupervisor", "devoteeCount",
+                "country", "state", "district", "subDistrict", "village", "pincode", "landmark", "createdAt", "updatedAt"), """
+                SELECT n.id, n.name, n.description, n.contact_person, n.contact_phone, n.contact_email,
+                       n.established_date, n.regular_program_day, n.regular_program_time, n.is_approved, n.is_active,
+                       sk.name, u.username, COALESCE(c.devotee_count, 0),
+                       a.country, a.state_name_english, a.district_name_english, a.subdistrict_name_english,
+                       a.village_name_english, a.pincode, a.landmark, n.created_at, n.updated_at
+                FROM namhattas n
+                LEFT JOIN shraddhakutirs sk ON sk.id = n.shraddhakutir_id
+                LEFT JOIN users u ON u.id = n.district_supervisor_id
+                LEFT JOIN (SELECT namhatta_id, COUNT(*) AS devotee_count FROM devotees GROUP BY namhatta_id) c
+                       ON c.namhatta_id = n.id
+                LEFT JOIN LATERAL (
+                    SELECT pa.*, pna.landmark FROM namhatta_addresses pna JOIN addresses pa ON pa.id = pna.address_id
+                    WHERE pna.namhatta_id = n.id
+                    ORDER BY pna.id
+                    LIMIT 1
+                ) a ON true
+                {scope: WHERE EXISTS (SELECT 1 FROM namhatta_addresses sna JOIN addresses sa ON sa.id = sna.address_id
+                                      WHERE sna.namhatta_id = n.id AND {districts})}
+                ORDER BY n.id
+                """),
+        UPDATES(List.of("id", "namhattaId", "namhattaName", "programType", "date", "attendance",
+                "prasadDistribution", "nagarKirtan", "bookDistribution", "chanting", "arati", "bhagwatPath",
+                "specialAttraction", "facebookLink", "youtubeLink", "imageUrls", "createdAt"), Set.of("imageUrls"), """
+                SELECT up.id, up.namhatta_id, n.name, up.program_type, up.date, up.attendance,
+                       up.prasad_distribution, up.nagar_kirtan, up.book_distribution, up.chanting, up.arati,
+                       up.bhagwat_path, up.special_attraction, up.facebook_link, up.youtube_link, up.image_urls::text,
+                       up.created_at
+                FROM namhatta_updates up
+                LEFT JOIN namhattas n ON n.id = up.namhatta_id
+                {scope: WHERE EXISTS (SELECT 1 FROM namhatta_addresses sna JOIN addresses sa ON sa.id = sna.address_id
+                                      WHERE sna.namhatta_id = up.namhatta_id AND {districts})}
+                ORDER BY up.id
+                """);
+
+        private final List<String> columns;
+        private final boolean[] json; // Columns selected as JSON text, written unquoted in NDJSON
+        private final String query;
+
+        Dataset(List<String> columns, String query) {
+            this(columns, Set.of(), query);
+        }
+
+        Dataset(List<String> columns, Set<String> jsonColumns, String query) {
+            this.columns = columns;
+            this.json = new boolean[columns.size()];
+            for (int i = 0; i < json.length; i++) {
+                json[i] = jsonColumns.contains(columns.get(i));
+            }
+            this.query = query;
+        }
+
+        public static Dataset of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Export must be one of devotees, namhattas, updates");
+            }
+        }
+
+        public String fileName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        String sql(List<String> districts) {
+            int start = query.indexOf("{scope:");
+            int end = query.lastIndexOf('}');
+            String condition = districts == null
+                    ? ""
+                    : query.substring(start + "{scope:".length(), end)
+                            .replace("{districts}", districts.isEmpty() ? "false" : DISTRICT_SCOPE);
+            return query.substring(0, start) + condition + query.substring(end + 1);
+        }
+    }
+
+    /**
+     * Output formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"), NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("format must be csv or ndjson");
+            }
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public ExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(applicationProperties.getExport().getFetchSize());
+        this.cursorTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream the dataset to the output; districts limits rows to those districts, null exports everything
+     * Returns the number of rows written. The output is flushed but not closed.
+     */
+    public long export(Dataset dataset, Format format, List<String> districts, OutputStream output) throws IOException {
+        long started = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 65536);
+        RowSink sink = format == Format.CSV ? new CsvSink(writer, dataset.columns) : new NdjsonSink(writer, dataset.columns);
+        long[] rows = new long[1];
+
+        try {
+            // PostgreSQL only streams through a cursor inside a transaction; otherwise it buffers the whole result
+            readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(
+                    dataset.sql(districts),
+                    new MapSqlParameterSource("districts", districts),
+                    (RowCallbackHandler) rs -> {
+                        Object[] values = new Object[dataset.columns.size()];
+                        for (int i = 0; i < values.length; i++) {
+                            Object value = rs.getObject(i + 1);
+                            if (value instanceof Timestamp timestamp) {
+                                value = timestamp.toLocalDateTime();
+                            } else if (value != null && dataset.json[i]) {
+                                value = new JsonText(value.toString());
+                            }
+                            values[i] = value;
+                        }
+                        try {
+                            sink.write(values);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e); // Client went away; abort the query
+                        }
+                        rows[0]++;
+                    }));
+            sink.finish();
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} {} as {} in {} ms{}", rows[0], dataset.fileName(), format.getExtension(),
+                System.currentTimeMillis() - started, districts != null ? " for districts " + districts : "");
+        return rows[0];
+    }
+
+    /**
+     * A JSON value as its text; CSV writes the text, NDJSON embeds it as JSON
+     */
+    private record JsonText(String text) {
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private interface RowSink {
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvSink implements RowSink {
+        private final CsvRowWriter csv;
+
+        CsvSink(Writer writer, List<String> columns) throws IOException {
+            this.csv = new CsvRowWriter(writer);
+            csv.write(columns.toArray());
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            csv.write(values);
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    private class NdjsonSink implements RowSink {
+        private final Writer writer;
+        private final List<String> columns;
+        private final JsonGenerator generator;
+
+        NdjsonSink(Writer writer, List<String> columns) throws IOException {
+            this.writer = writer;
+            this.columns = columns;
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null); // Lines are separated explicitly below
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                if (values[i] instanceof JsonText json) {
+                    generator.writeRawValue(json.text());
+                } else {
+                    generator.writeObject(values[i]);
+                }
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
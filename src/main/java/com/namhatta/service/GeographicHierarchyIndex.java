@@ -0,0 +1,228 @@
+package com.namhatta.service;
+
+import com.namhatta.repository.AddressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * GeographicHierarchyIndex - In-memory country → state → district → sub-district → village tree
+ * Built from a single pass over the addresses table and swapped atomically on rebuild.
+ * Names are dictionary-encoded: every distinct name is stored once and tree nodes hold
+ * sorted int ids, so id order equals alphabetical order and lookups are binary searches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeographicHierarchyIndex {
+
+    private final AddressRepository addressRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Rebuild the whole tree from the database and publish it atomically
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+
+        TreeBuilder builder = new TreeBuilder();
+        try (Stream<Object[]> rows = addressRepository.streamDistinctHierarchyPaths()) {
+            rows.forEach(row -> builder.add(
+                (String) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+
+        Snapshot built = builder.build();
+        snapshot.set(built);
+
+        log.info("Geographic hierarchy index rebuilt: {} paths, {} distinct names in {} ms",
+                builder.paths, built.dictionary.length, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Whether a snapshot has been loaded; callers fall back to the database until then
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    public List<String> getCountries() {
+        return childNames(snapshot.get());
+    }
+
+    public List<String> getStates(String country) {
+        return childNames(snapshot.get(), country);
+    }
+
+    public List<String> getDistricts(String country, String state) {
+        return childNames(snapshot.get(), country, state);
+    }
+
+    public List<String> getSubDistricts(String country, String state, String district) {
+        return childNames(snapshot.get(), country, state, district);
+    }
+
+    public List<String> getVillages(String country, String state, String district, String subDistrict) {
+        return childNames(snapshot.get(), country, state, district, subDistrict);
+    }
+
+    /**
+     * Whether the given path (down to the deepest non-blank level) is already indexed
+     */
+    public boolean contains(String country, String state, String district, String subDistrict, String village) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return false;
+        }
+
+        Node node = current.root;
+        for (String name : new String[] {country, state, district, subDistrict, village}) {
+            if (isMissing(name)) {
+                return true;
+            }
+            if (node == null) {
+                return false;
+            }
+            int position = current.positionOf(node, name);
+            if (position < 0) {
+                return false;
+            }
+            node = node.children == null ? null : node.children[position];
+        }
+        return true;
+    }
+
+    /**
+     * A null or blank level ends a path, both when building the tree and when looking a path up
+     */
+    private static boolean isMissing(String name) {
+        return name == null || name.isBlank();
+    }
+
+    private List<String> childNames(Snapshot current, String... path) {
+        if (current == null) {
+            return new ArrayList<>();
+        }
+
+        Node node = current.root;
+        for (String name : path) {
+            if (name == null || node.children == null) {
+                return new ArrayList<>();
+            }
+            int position = current.positionOf(node, name);
+            if (position < 0) {
+                return new ArrayList<>();
+            }
+            node = node.children[position];
+        }
+
+        List<String> names = new ArrayList<>(node.childIds.length);
+        for (int id : node.childIds) {
+            names.add(current.dictionary[id]);
+        }
+        return names;
+    }
+
+    /**
+     * Immutable, fully built index
+     */
+    private static final class Snapshot {
+        private final String[] dictionary;
+        private final Map<String, Integer> ids;
+        private final Node root;
+
+        private Snapshot(String[] dictionary, Map<String, Integer> ids, Node root) {
+            this.dictionary = dictionary;
+            this.ids = ids;
+            this.root = root;
+        }
+
+        private int positionOf(Node node, String name) {
+            Integer id = ids.get(name);
+            return id == null ? -1 : Arrays.binarySearch(node.childIds, id);
+        }
+    }
+
+    /**
+     * Tree node; children is null on the village (leaf) level
+     */
+    private static final class Node {
+        private final int[] childIds;
+        private final Node[] children;
+
+        private Node(int[] childIds, Node[] children) {
+            this.childIds = childIds;
+            this.children = children;
+        }
+    }
+
+    /**
+     * Mutable builder used only while streaming rows
+     */
+    private static final class TreeBuilder {
+        private final Map<String, String> names = new HashMap<>();
+        private final BuilderNode root = new BuilderNode();
+        private long paths;
+
+        void add(String... path) {
+            BuilderNode node = root;
+            for (String name : path) {
+                if (isMissing(name)) {
+                    break;
+                }
+                String interned = names.computeIfAbsent(name, n -> n);
+                node = node.children.computeIfAbsent(interned, n -> new BuilderNode());
+            }
+            paths++;
+        }
+
+        Snapshot build() {
+            String[] dictionary = names.keySet().toArray(new String[0]);
+            Arrays.sort(dictionary);
+
+            Map<String, Integer> ids = new HashMap<>(dictionary.length * 2);
+            for (int i = 0; i < dictionary.length; i++) {
+                ids.put(dictionary[i], i);
+            }
+
+            return new Snapshot(dictionary, Collections.unmodifiableMap(ids), freeze(root, ids, 0));
+        }
+
+        private Node freeze(BuilderNode node, Map<String, Integer> ids, int depth) {
+            int size = node.children.size();
+            int[] childIds = new int[size];
+            int index = 0;
+            for (String name : node.children.keySet()) {
+                childIds[index++] = ids.get(name);
+            }
+            Arrays.sort(childIds);
+
+            // Villages are leaves (depth 4 holds the village ids)
+            if (depth == 4) {
+                return new Node(childIds, null);
+            }
+
+            String[] sortedNames = new String[size];
+            Node[] children = new Node[size];
+            Map<Integer, String> byId = new HashMap<>(size * 2);
+            for (String name : node.children.keySet()) {
+                byId.put(ids.get(name), name);
+            }
+            for (int i = 0; i < size; i++) {
+                sortedNames[i] = byId.get(childIds[i]);
+                children[i] = freeze(node.children.get(sortedNames[i]), ids, depth + 1);
+            }
+            return new Node(childIds, children);
+        }
+    }
+
+    private static final class BuilderNode {
+        private final Map<String, BuilderNode> children = new HashMap<>();
+    }
+}
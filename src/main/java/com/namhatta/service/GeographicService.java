@@ -1,9 +1,11 @@
 package com.namhatta.service;
 
+import com.namhatta.config.ApplicationProperties;
 import com.namhatta.entity.Address;
 import com.namhatta.repository.AddressRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,15 @@ import java.util.*;
 public class GeographicService {
     
     private final AddressRepository addressRepository;
+    private final GeographicHierarchyIndex hierarchyIndex;
+    private final PincodeIndex pincodeIndex;
+    private final PincodeAddressResolver pincodeAddressResolver;
+    private final ApplicationProperties applicationProperties;
+    
+    private static final List<String> SAMPLE_PINCODES = List.of(
+        "700001", "700002", "700003", "700004", "700005",
+        "700012", "700015", "700016", "700017", "700020"
+    );
     
     /**
      * Get available countries
@@ -29,14 +40,16 @@ public class GeographicService {
         log.debug("Getting countries list");
         
         try {
-            List<String> countries = addressRepository.findDistinctCountries();
+            List<String> countries = useIndex()
+                ? hierarchyIndex.getCountries()
+                : addressRepository.findDistinctCountries();
             
             // If no countries in database, return India as default
             if (countries.isEmpty()) {
                 countries = Arrays.asList("India");
             }
             
-            log.debug("Retrieved {} countries from database", countries.size());
+            log.debug("Retrieved {} countries", countries.size());
             return countries;
             
         } catch (Exception e) {
@@ -52,7 +65,9 @@ public class GeographicService {
         log.debug("Getting states for country: {}", country);
         
         try {
-            List<String> states = addressRepository.findDistinctStatesByCountry(country);
+            List<String> states = useIndex()
+                ? hierarchyIndex.getStates(country)
+                : addressRepository.findDistinctStatesByCountry(country);
             
             // If no states in database for this country, return empty list
             if (states.isEmpty() && "India".equals(country)) {
@@ -85,7 +100,9 @@ public class GeographicService {
                 return new ArrayList<>();
             }
             
-            List<String> districts = addressRepository.findDistinctDistrictsByCountryAndState(country, state);
+            List<String> districts = useIndex()
+                ? hierarchyIndex.getDistricts(country, state)
+                : addressRepository.findDistinctDistrictsByCountryAndState(country, state);
             
             // If no districts in database, provide fallback for major states
             if (districts.isEmpty() && "India".equals(country)) {
@@ -130,7 +147,9 @@ public class GeographicService {
                 return new ArrayList<>();
             }
             
-            List<String> subDistricts = addressRepository.findDistinctSubdistrictsByCountryStateAndDistrict(country, state, district);
+            List<String> subDistricts = useIndex()
+                ? hierarchyIndex.getSubDistricts(country, state, district)
+                : addressRepository.findDistinctSubdistrictsByCountryStateAndDistrict(country, state, district);
             
             // If no sub-districts in database, return generic blocks as fallback
             if (subDistricts.isEmpty()) {
@@ -159,7 +178,9 @@ public class GeographicService {
                 return new ArrayList<>();
             }
             
-            List<String> villages = addressRepository.findDistinctVillagesByCountryStateDistrictAndSubdistrict(country, state, district, subDistrict);
+            List<String> villages = useIndex()
+                ? hierarchyIndex.getVillages(country, state, district, subDistrict)
+                : addressRepository.findDistinctVillagesByCountryStateDistrictAndSubdistrict(country, state, district, subDistrict);
             
             // If no villages in database, return sample villages as fallback
             if (villages.isEmpty()) {
@@ -177,47 +198,36 @@ public class GeographicService {
     
     /**
      * Get pincodes with pagination
+     * Search is a prefix match; pass the previous nextCursor as after for cursor paging
      */
-    public Map<String, Object> getPincodes(String country, int page, int limit, String search) {
+    public Map<String, Object> getPincodes(String country, int page, int limit, String search, String after) {
         log.debug("Getting pincodes for country: {}, search: {}", country, search);
         
         try {
-            List<String> allPincodes;
+            int offset = after != null ? 0 : (Math.max(page, 1) - 1) * Math.max(limit, 1);
+            PincodeIndex.PincodePage result;
             
-            if (search != null && !search.trim().isEmpty()) {
-                allPincodes = addressRepository.findDistinctPincodesByCountryAndSearch(country, search.trim());
+            if (usePincodeIndex()) {
+                result = pincodeIndex.prefixSearch(country, search, offset, Math.max(limit, 1), after);
             } else {
-                allPincodes = addressRepository.findDistinctPincodesByCountry(country);
-            }
-            
-            // If no pincodes in database, provide sample data
-            if (allPincodes.isEmpty()) {
-                allPincodes = Arrays.asList(
-                    "700001", "700002", "700003", "700004", "700005",
-                    "700012", "700015", "700016", "700017", "700020"
-                );
-                
-                // Filter sample data by search if provided
+                List<String> allPincodes;
                 if (search != null && !search.trim().isEmpty()) {
-                    String searchTerm = search.trim();
-                    allPincodes = allPincodes.stream()
-                        .filter(pincode -> pincode.contains(searchTerm))
-                        .collect(ArrayList::new, (list, item) -> list.add(item), (list1, list2) -> list1.addAll(list2));
+                    allPincodes = addressRepository.findDistinctPincodesByCountryAndSearch(country, search.trim());
+                } else {
+                    allPincodes = addressRepository.findDistinctPincodesByCountry(country);
                 }
+                result = paginate(allPincodes, offset, Math.max(limit, 1), after);
             }
             
-            // Apply pagination
-            int start = (page - 1) * limit;
-            int end = Math.min(start + limit, allPincodes.size());
-            List<String> paginatedPincodes = allPincodes.subList(start, end);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("pincodes", paginatedPincodes);
-            response.put("total", allPincodes.size());
-            response.put("hasMore", end < allPincodes.size());
+            // If no pincodes in database, provide sample data
+            if (result.total() == 0 && isSamplePincodesEnabled() && !pincodeDataExists(country)) {
+                String term = search != null ? search.trim() : "";
+                result = paginate(SAMPLE_PINCODES.stream().filter(pincode -> pincode.startsWith(term)).toList(),
+                    offset, Math.max(limit, 1), after);
+            }
             
-            log.debug("Retrieved {} pincodes from database (page {}, limit {})", paginatedPincodes.size(), page, limit);
-            return response;
+            log.debug("Retrieved {} of {} pincodes (page {}, limit {})", result.pincodes().size(), result.total(), page, limit);
+            return toPincodeResponse(result);
             
         } catch (Exception e) {
             log.error("Error retrieving pincodes", e);
@@ -227,26 +237,22 @@ public class GeographicService {
     
     /**
      * Search pincodes by query
+     * Returns the first limit matches in order, as a plain list
      */
-    public List<String> searchPincodes(String query) {
+    public List<String> searchPincodes(String query, int limit) {
         log.debug("Searching pincodes with query: {}", query);
         
         try {
-            List<String> matchingPincodes = addressRepository.findDistinctPincodesContaining(query);
+            List<String> matchingPincodes = usePincodeIndex()
+                ? pincodeIndex.substringSearch(null, query, 0, Math.max(limit, 1), null).pincodes()
+                : addressRepository.findDistinctPincodesContaining(query, PageRequest.of(0, Math.max(limit, 1)));
             
             // If no pincodes in database, use sample data
-            if (matchingPincodes.isEmpty()) {
-                List<String> samplePincodes = Arrays.asList(
-                    "700001", "700002", "700003", "700004", "700005",
-                    "700012", "700015", "700016", "700017", "700020"
-                );
-                
-                matchingPincodes = samplePincodes.stream()
-                    .filter(pincode -> pincode.contains(query))
-                    .collect(ArrayList::new, (list, item) -> list.add(item), (list1, list2) -> list1.addAll(list2));
+            if (matchingPincodes.isEmpty() && isSamplePincodesEnabled() && !pincodeDataExists(null)) {
+                matchingPincodes = filterSamplePincodes(query).stream().limit(Math.max(limit, 1)).toList();
             }
             
-            log.debug("Found {} matching pincodes for query: {} from database", matchingPincodes.size(), query);
+            log.debug("Found {} matching pincodes for query: {}", matchingPincodes.size(), query);
             return matchingPincodes;
             
         } catch (Exception e) {
@@ -255,6 +261,43 @@ public class GeographicService {
         }
     }
     
+    /**
+     * Search pincodes containing the search term with pagination
+     * Country is optional; same response shape as getPincodes
+     */
+    public Map<String, Object> searchPincodes(String country, String search, int page, int limit, String after) {
+        log.debug("Searching pincodes for country: {}, search: {}", country, search);
+        
+        try {
+            String term = search != null ? search.trim() : "";
+            int offset = after != null ? 0 : (Math.max(page, 1) - 1) * Math.max(limit, 1);
+            PincodeIndex.PincodePage result;
+            
+            if (usePincodeIndex()) {
+                result = pincodeIndex.substringSearch(country, term, offset, Math.max(limit, 1), after);
+            } else {
+                List<String> candidates = country != null && !country.isBlank()
+                    ? addressRepository.findDistinctPincodesByCountry(country)
+                    : addressRepository.findDistinctPincodesContaining(term);
+                List<String> matches = candidates.stream()
+                    .filter(pincode -> pincode.contains(term))
+                    .collect(ArrayList::new, (list, item) -> list.add(item), (list1, list2) -> list1.addAll(list2));
+                result = paginate(matches, offset, Math.max(limit, 1), after);
+            }
+            
+            if (result.total() == 0 && isSamplePincodesEnabled() && !pincodeDataExists(country)) {
+                result = paginate(filterSamplePincodes(term), offset, Math.max(limit, 1), after);
+            }
+            
+            log.debug("Found {} of {} matching pincodes for search: {}", result.pincodes().size(), result.total(), term);
+            return toPincodeResponse(result);
+            
+        } catch (Exception e) {
+            log.error("Error searching pincodes for country: {}, search: {}", country, search, e);
+            throw new RuntimeException("Failed to search pincodes", e);
+        }
+    }
+    
     /**
      * Get address information by pincode
      */
@@ -262,17 +305,13 @@ public class GeographicService {
         log.debug("Getting address for pincode: {}", pincode);
         
         try {
-            Optional<Address> addressOpt = addressRepository.findFirstByPincode(pincode);
-            Map<String, Object> address = new HashMap<>();
-            
-            if (addressOpt.isPresent()) {
-                Address addr = addressOpt.get();
-                address.put("country", addr.getCountry());
-                address.put("state", addr.getStateNameEnglish());
-                address.put("district", addr.getDistrictNameEnglish());
-                address.put("subdistrict", addr.getSubdistrictNameEnglish());
-                address.put("village", addr.getVillageNameEnglish());
+            Optional<PincodeAddressResolver.PincodeAddress> resolved = pincodeAddressResolver.resolve(pincode);
+            Map<String, Object> address;
+            
+            if (resolved.isPresent()) {
+                address = toAddressResponse(resolved.get());
             } else {
+                address = new HashMap<>();
                 // If no address found in database, provide fallback based on pincode patterns
                 if (pincode.startsWith("700")) {
                     address.put("country", "India");
@@ -289,7 +328,7 @@ public class GeographicService {
                 }
             }
             
-            log.debug("Address retrieved for pincode: {} from database", pincode);
+            log.debug("Address retrieved for pincode: {}", pincode);
             return address;
             
         } catch (Exception e) {
@@ -297,4 +336,109 @@ public class GeographicService {
             throw new RuntimeException("Failed to retrieve address", e);
         }
     }
+    
+    /**
+     * Get address information for many pincodes in one call
+     * Unknown pincodes are listed under notFound instead of getting a guessed fallback
+     */
+    public Map<String, Object> getAddressesByPincodes(List<String> pincodes) {
+        log.debug("Getting addresses for {} pincodes", pincodes.size());
+        
+        try {
+            Map<String, PincodeAddressResolver.PincodeAddress> resolved = pincodeAddressResolver.resolveAll(pincodes);
+            
+            Map<String, Object> results = new LinkedHashMap<>();
+            resolved.forEach((pincode, address) -> results.put(pincode, toAddressResponse(address)));
+            
+            List<String> notFound = pincodes.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(pincode -> !pincode.isEmpty() && !resolved.containsKey(pincode))
+                .distinct()
+                .toList();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("notFound", notFound);
+            
+            log.debug("Resolved {} pincodes, {} not found", results.size(), notFound.size());
+            return response;
+            
+        } catch (Exception e) {
+            log.error("Error retrieving addresses for pincodes", e);
+            throw new RuntimeException("Failed to retrieve addresses", e);
+        }
+    }
+    
+    /**
+     * Serve cascading dropdowns from the in-memory index once it has been loaded
+     */
+    private boolean useIndex() {
+        return applicationProperties.getGeographic().isIndexEnabled() && hierarchyIndex.isLoaded();
+    }
+    
+    private boolean usePincodeIndex() {
+        return applicationProperties.getGeographic().isIndexEnabled() && pincodeIndex.isLoaded();
+    }
+    
+    private boolean isSamplePincodesEnabled() {
+        return applicationProperties.getGeographic().isSamplePincodesEnabled();
+    }
+    
+    /**
+     * Sample pincodes are only a stand-in for an empty database, not for a search miss
+     */
+    private boolean pincodeDataExists(String country) {
+        if (usePincodeIndex()) {
+            return pincodeIndex.prefixSearch(country, "", 0, 1, null).total() > 0;
+        }
+        return country != null && !country.isBlank()
+            ? addressRepository.existsByCountryAndPincodeIsNotNull(country)
+            : addressRepository.existsByPincodeIsNotNull();
+    }
+    
+    private List<String> filterSamplePincodes(String query) {
+        return SAMPLE_PINCODES.stream()
+            .filter(pincode -> pincode.contains(query))
+            .collect(ArrayList::new, (list, item) -> list.add(item), (list1, list2) -> list1.addAll(list2));
+    }
+    
+    /**
+     * Offset/cursor pagination over an already sorted list (database fallback and sample data)
+     */
+    private PincodeIndex.PincodePage paginate(List<String> sorted, int offset, int limit, String after) {
+        int start = 0;
+        if (after != null) {
+            while (start < sorted.size() && sorted.get(start).compareTo(after) <= 0) {
+                start++;
+            }
+        }
+        start = Math.min(start + offset, sorted.size());
+        int end = Math.min(start + limit, sorted.size());
+        boolean hasMore = end < sorted.size();
+        String nextCursor = hasMore && end > start ? sorted.get(end - 1) : null;
+        return new PincodeIndex.PincodePage(new ArrayList<>(sorted.subList(start, end)), sorted.size(), hasMore, nextCursor);
+    }
+    
+    private Map<String, Object> toAddressResponse(PincodeAddressResolver.PincodeAddress resolved) {
+        Map<String, Object> address = new HashMap<>();
+        address.put("country", resolved.country());
+        address.put("state", resolved.state());
+        address.put("district", resolved.district());
+        address.put("subDistricts", resolved.subDistricts());
+        // Single value kept for older clients
+        address.put("subdistrict", resolved.subDistricts().isEmpty() ? null : resolved.subDistricts().get(0));
+        return address;
+    }
+    
+    private Map<String, Object> toPincodeResponse(PincodeIndex.PincodePage result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("pincodes", result.pincodes());
+        response.put("total", result.total());
+        response.put("hasMore", result.hasMore());
+        if (result.nextCursor() != null) {
+            response.put("nextCursor", result.nextCursor());
+        }
+        return response;
+    }
 }
\ No newline at end of file
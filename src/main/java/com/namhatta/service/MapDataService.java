@@ -1,7 +1,6 @@
 package com.namhatta.service;
 
 import com.namhatta.repository.NamhattaRepository;
-import com.namhatta.repository.AddressRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,7 +20,8 @@ import java.util.stream.Collectors;
 public class MapDataService {
     
     private final NamhattaRepository namhattaRepository;
-    private final AddressRepository addressRepository;
+    private final NamhattaRollupEngine rollupEngine;
+    private final GeographicHierarchyIndex hierarchyIndex;
     
     /**
      * Get countries with namhatta count
@@ -30,43 +30,16 @@ public class MapDataService {
         log.debug("Getting countries with namhatta count for districts: {}", allowedDistricts);
         
         try {
-            // Get countries based on actual address data
-            List<String> countryNames = addressRepository.findDistinctCountries();
+            NamhattaRollupEngine.Rollup rollup = rollupEngine.compute(allowedDistricts);
             List<Map<String, Object>> countries = new ArrayList<>();
             
-            for (String countryName : countryNames) {
-                if (countryName != null && !countryName.trim().isEmpty()) {
-                    long namhattaCount;
-                    
-                    if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-                        // District supervisor - count namhattas in allowed districts
-                        namhattaCount = namhattaRepository.countByDistricts(allowedDistricts);
-                    } else {
-                        // Admin/Office - count all namhattas in this country
-                        namhattaCount = namhattaRepository.count(); // Using global count as country filtering not needed in current schema
-                    }
-                    
-                    if (namhattaCount > 0) {
-                        Map<String, Object> country = new HashMap<>();
-                        country.put("country", countryName);
-                        country.put("namhattaCount", (int) namhattaCount);
-                        countries.add(country);
-                    }
-                }
+            for (String countryName : rollup.childrenOf()) {
+                countries.add(countEntry("country", countryName, rollup.count(countryName)));
             }
             
             // If no countries found, provide India as default
-            if (countries.isEmpty()) {
-                long totalCount = allowedDistricts != null && !allowedDistricts.isEmpty() ?
-                    namhattaRepository.countByDistricts(allowedDistricts) :
-                    namhattaRepository.count();
-                    
-                if (totalCount > 0) {
-                    Map<String, Object> india = new HashMap<>();
-                    india.put("country", "India");
-                    india.put("namhattaCount", (int) totalCount);
-                    countries.add(india);
-                }
+            if (countries.isEmpty() && rollup.total() > 0) {
+                countries.add(countEntry("country", "India", rollup.total()));
             }
             
             log.debug("Retrieved {} countries with namhatta counts", countries.size());
@@ -85,29 +58,11 @@ public class MapDataService {
         log.debug("Getting states with namhatta count for country: {}, districts: {}", country, allowedDistricts);
         
         try {
-            // Use actual repository query for state distribution
-            List<Object[]> stateData = namhattaRepository.getNamhattaCountByState();
+            // District scoping is applied inside the rollup query
+            NamhattaRollupEngine.Rollup rollup = rollupEngine.compute(allowedDistricts);
             
-            List<Map<String, Object>> states = stateData.stream()
-                .map(row -> {
-                    String stateName = (String) row[0];
-                    Long count = (Long) row[1];
-                    
-                    Map<String, Object> stateInfo = new HashMap<>();
-                    stateInfo.put("state", stateName);
-                    stateInfo.put("namhattaCount", count.intValue());
-                    return stateInfo;
-                })
-                .filter(state -> {
-                    // Filter states based on allowed districts
-                    if (allowedDistricts == null || allowedDistricts.isEmpty()) {
-                        return true; // Admin/Office sees all states
-                    }
-                    // Check if this state contains any of the allowed districts
-                    String stateName = (String) state.get("state");
-                    List<String> stateDistricts = addressRepository.findDistinctDistrictsByCountryAndState(country, stateName);
-                    return stateDistricts.stream().anyMatch(allowedDistricts::contains);
-                })
+            List<Map<String, Object>> states = rollup.childrenOf(country).stream()
+                .map(stateName -> countEntry("state", stateName, rollup.count(country, stateName)))
                 .collect(Collectors.toList());
             
             log.debug("Retrieved {} states with namhatta counts", states.size());
@@ -126,21 +81,10 @@ public class MapDataService {
         log.debug("Getting districts with namhatta count for state: {}, allowed districts: {}", state, allowedDistricts);
         
         try {
-            // Use actual repository query for district distribution
-            List<Object[]> districtData = namhattaRepository.getNamhattaCountByDistrict();
+            NamhattaRollupEngine.Rollup rollup = rollupEngine.compute(allowedDistricts);
             
-            List<Map<String, Object>> districts = districtData.stream()
-                .map(row -> {
-                    String districtName = (String) row[0];
-                    Long count = (Long) row[1];
-                    
-                    Map<String, Object> districtInfo = new HashMap<>();
-                    districtInfo.put("district", districtName);
-                    districtInfo.put("namhattaCount", count.intValue());
-                    return districtInfo;
-                })
-                .filter(district -> allowedDistricts == null || 
-                    allowedDistricts.contains((String) district.get("district")))
+            List<Map<String, Object>> districts = rollup.childrenOf(country, state).stream()
+                .map(districtName -> countEntry("district", districtName, rollup.count(country, state, districtName)))
                 .collect(Collectors.toList());
             
             log.debug("Retrieved {} districts with namhatta counts", districts.size());
@@ -160,34 +104,30 @@ public class MapDataService {
         
         try {
             // Check district access
-            if (allowedDistricts != null && !allowedDistricts.isEmpty() && !allowedDistricts.contains(district)) {
+            if (allowedDistricts != null && !allowedDistricts.contains(district)) {
                 log.warn("Access denied to district: {} for user with districts: {}", district, allowedDistricts);
                 return Collections.emptyList();
             }
             
-            // Get actual sub-district data from address repository
-            List<String> subdistrictNames = addressRepository.findDistinctSubdistrictsByCountryStateAndDistrict(country, state, district);
+            NamhattaRollupEngine.Rollup rollup = rollupEngine.compute(allowedDistricts);
             
-            List<Map<String, Object>> subdistricts = new ArrayList<>();
+            // Sub-districts without namhattas are listed too; names come from the in-memory index when loaded
+            SortedSet<String> subdistrictNames = new TreeSet<>(rollup.childrenOf(country, state, district));
+            if (hierarchyIndex.isLoaded()) {
+                subdistrictNames.addAll(hierarchyIndex.getSubDistricts(country, state, district));
+            }
             
+            List<Map<String, Object>> subdistricts = new ArrayList<>();
             for (String subdistrictName : subdistrictNames) {
                 if (subdistrictName != null && !subdistrictName.trim().isEmpty()) {
-                    // Get namhatta count for this sub-district
-                    long namhattaCount = namhattaRepository.countBySubdistrict(subdistrictName);
-                    
-                    Map<String, Object> subdistrict = new HashMap<>();
-                    subdistrict.put("subdistrict", subdistrictName);
-                    subdistrict.put("namhattaCount", (int) namhattaCount);
-                    subdistricts.add(subdistrict);
+                    subdistricts.add(countEntry("subdistrict", subdistrictName,
+                        rollup.count(country, state, district, subdistrictName)));
                 }
             }
             
             // If no sub-districts found, provide default structure
             if (subdistricts.isEmpty()) {
-                Map<String, Object> defaultSubdistrict = new HashMap<>();
-                defaultSubdistrict.put("subdistrict", district + " Central");
-                defaultSubdistrict.put("namhattaCount", namhattaRepository.countByDistrict(district));
-                subdistricts.add(defaultSubdistrict);
+                subdistricts.add(countEntry("subdistrict", district + " Central", rollup.count(country, state, district)));
             }
             
             log.debug("Retrieved {} sub-districts for district: {}", subdistricts.size(), district);
@@ -207,7 +147,7 @@ public class MapDataService {
         
         try {
             // Check district access
-            if (allowedDistricts != null && !allowedDistricts.isEmpty() && !allowedDistricts.contains(district)) {
+            if (allowedDistricts != null && !allowedDistricts.contains(district)) {
                 log.warn("Access denied to district: {} for user with districts: {}", district, allowedDistricts);
                 return Collections.emptyList();
             }
@@ -243,19 +183,17 @@ public class MapDataService {
         
         try {
             Map<String, Object> stats = new HashMap<>();
+            NamhattaRollupEngine.Rollup rollup = rollupEngine.compute(allowedDistricts);
             
-            if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
+            if (allowedDistricts != null) {
                 // District supervisor statistics
                 stats.put("districtsManaged", allowedDistricts.size());
-                stats.put("namhattasInDistricts", namhattaRepository.countByDistricts(allowedDistricts));
+                stats.put("namhattasInDistricts", rollup.total());
             } else {
                 // Admin/Office global statistics
-                List<Object[]> stateData = namhattaRepository.getNamhattaCountByState();
-                List<Object[]> districtData = namhattaRepository.getNamhattaCountByDistrict();
-                
-                stats.put("totalStates", stateData.size());
-                stats.put("totalDistricts", districtData.size());
-                stats.put("totalNamhattas", namhattaRepository.count());
+                stats.put("totalStates", rollup.distinctAtDepth(2));
+                stats.put("totalDistricts", rollup.distinctAtDepth(3));
+                stats.put("totalNamhattas", rollup.total());
             }
             
             log.debug("Geographic statistics calculated successfully");
@@ -266,4 +204,11 @@ public class MapDataService {
             throw new RuntimeException("Failed to calculate geographic statistics", e);
         }
     }
-}
\ No newline at end of file
+    
+    private Map<String, Object> countEntry(String levelKey, String name, long namhattaCount) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(levelKey, name);
+        entry.put("namhattaCount", (int) namhattaCount);
+        return entry;
+    }
+}
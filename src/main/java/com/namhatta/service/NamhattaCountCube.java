@@ -0,0 +1,225 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.NamhattaChangedEvent;
+import com.namhatta.repository.NamhattaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * NamhattaCountCube - In-memory namhatta counts keyed by (geographic path, approved, active)
+ * Every namhatta contributes once to each distinct country / state / district / sub-district
+ * prefix of its locations, so counts at every level are exact even for multi-address namhattas.
+ * NamhattaService events apply deltas after commit; a periodic full reconciliation rebuilds
+ * the cube from the database to correct any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NamhattaCountCube {
+
+    private final NamhattaRepository namhattaRepository;
+    private final ApplicationProperties applicationProperties;
+
+    private final Object lock = new Object();
+    private CubeState state; // null until the first reconciliation
+    private List<NamhattaChangedEvent> changesDuringReconcile; // non-null while a reconciliation runs
+
+    /**
+     * Whether the cube has been loaded; callers fall back to SQL until then
+     */
+    public boolean isLoaded() {
+        synchronized (lock) {
+            return state != null;
+        }
+    }
+
+    /**
+     * Counts of approved, active namhattas for every level, optionally limited to the given districts
+     */
+    public NamhattaRollupEngine.Rollup rollup(List<String> allowedDistricts) {
+        NamhattaRollupEngine.Rollup rollup = new NamhattaRollupEngine.Rollup();
+
+        synchronized (lock) {
+            if (state == null) {
+                return rollup;
+            }
+
+            if (allowedDistricts == null) {
+                state.counts.forEach((key, count) -> {
+                    if (key.approved() && key.active()) {
+                        rollup.add(key.path().toArray(new String[0]), count);
+                    }
+                });
+                return rollup;
+            }
+
+            // Scoped view: only the namhattas touching the allowed districts, counting only those locations
+            Set<String> districts = new HashSet<>(allowedDistricts);
+            Set<Long> ids = new HashSet<>();
+            for (String district : districts) {
+                ids.addAll(state.namhattasByDistrict.getOrDefault(district, Set.of()));
+            }
+            for (Long id : ids) {
+                NamhattaEntry entry = state.namhattas.get(id);
+                if (entry == null || !entry.approved() || !entry.active()) {
+                    continue;
+                }
+                Set<NamhattaChangedEvent.Location> scoped = new HashSet<>();
+                for (NamhattaChangedEvent.Location location : entry.locations()) {
+                    if (districts.contains(location.district())) {
+                        scoped.add(location);
+                    }
+                }
+                for (List<String> prefix : distinctPrefixes(scoped)) {
+                    rollup.add(prefix.toArray(new String[0]), 1);
+                }
+            }
+        }
+        return rollup;
+    }
+
+    /**
+     * Apply a committed namhatta change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Before snapshot refreshes that read these counts
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNamhattaChanged(NamhattaChangedEvent event) {
+        synchronized (lock) {
+            if (changesDuringReconcile != null) {
+                changesDuringReconcile.add(event);
+            }
+            if (state != null) {
+                state.upsert(event.namhattaId(), NamhattaEntry.of(event.after()));
+            }
+        }
+    }
+
+    /**
+     * Rebuild the cube from the database on startup and periodically
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.counters.reconcile-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        if (!applicationProperties.getCounters().isEnabled()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        synchronized (lock) {
+            changesDuringReconcile = new ArrayList<>();
+        }
+
+        try {
+            Map<Long, NamhattaEntry> namhattas = new HashMap<>();
+            try (Stream<Object[]> rows = namhattaRepository.streamNamhattaLocations()) {
+                rows.forEach(row -> {
+                    NamhattaEntry entry = namhattas.computeIfAbsent((Long) row[0], id -> new NamhattaEntry(
+                            Boolean.TRUE.equals(row[1]), Boolean.TRUE.equals(row[2]), new HashSet<>()));
+                    entry.locations().add(new NamhattaChangedEvent.Location(
+                            (String) row[3], (String) row[4], (String) row[5], (String) row[6]));
+                });
+            }
+
+            CubeState fresh = new CubeState();
+            namhattas.forEach(fresh::upsert);
+
+            synchronized (lock) {
+                // Replaying is idempotent: each change sets the namhatta's full state
+                for (NamhattaChangedEvent event : changesDuringReconcile) {
+                    fresh.upsert(event.namhattaId(), NamhattaEntry.of(event.after()));
+                }
+                state = fresh;
+            }
+
+            log.info("Namhatta count cube reconciled: {} namhattas, {} cells in {} ms",
+                    fresh.namhattas.size(), fresh.counts.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Error reconciling namhatta count cube", e);
+        } finally {
+            synchronized (lock) {
+                changesDuringReconcile = null;
+            }
+        }
+    }
+
+    private static Set<List<String>> distinctPrefixes(Set<NamhattaChangedEvent.Location> locations) {
+        Set<List<String>> prefixes = new HashSet<>();
+        for (NamhattaChangedEvent.Location location : locations) {
+            List<String> path = Arrays.asList(location.country(), location.state(), location.district(), location.subdistrict());
+            for (int depth = 0; depth <= path.size(); depth++) {
+                prefixes.add(new ArrayList<>(path.subList(0, depth)));
+            }
+        }
+        return prefixes;
+    }
+
+    private record CubeKey(List<String> path, boolean approved, boolean active) {
+    }
+
+    private record NamhattaEntry(boolean approved, boolean active, Set<NamhattaChangedEvent.Location> locations) {
+
+        static NamhattaEntry of(NamhattaChangedEvent.Snapshot snapshot) {
+            if (snapshot == null) {
+                return null;
+            }
+            return new NamhattaEntry(snapshot.approved(), snapshot.active(), new HashSet<>(snapshot.locations()));
+        }
+    }
+
+    /**
+     * Mutable cube contents; only touched while holding the lock (or before publication)
+     */
+    private static final class CubeState {
+        private final Map<Long, NamhattaEntry> namhattas = new HashMap<>();
+        private final Map<CubeKey, Long> counts = new HashMap<>();
+        private final Map<String, Set<Long>> namhattasByDistrict = new HashMap<>();
+
+        void upsert(Long id, NamhattaEntry next) {
+            NamhattaEntry previous = namhattas.remove(id);
+            if (previous != null) {
+                contribute(id, previous, -1);
+            }
+            if (next != null && !next.locations().isEmpty()) {
+                namhattas.put(id, next);
+                contribute(id, next, 1);
+            }
+        }
+
+        private void contribute(Long id, NamhattaEntry entry, long delta) {
+            for (List<String> prefix : distinctPrefixes(entry.locations())) {
+                counts.merge(new CubeKey(prefix, entry.approved(), entry.active()), delta,
+                        (current, change) -> current + change == 0 ? null : current + change);
+            }
+            for (NamhattaChangedEvent.Location location : entry.locations()) {
+                if (location.district() == null) {
+                    continue;
+                }
+                if (delta > 0) {
+                    namhattasByDistrict.computeIfAbsent(location.district(), d -> new HashSet<>()).add(id);
+                } else {
+                    Set<Long> ids = namhattasByDistrict.get(location.district());
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        namhattasByDistrict.remove(location.district());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.repository.NamhattaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * NamhattaRollupEngine - Namhatta counts for every geographic level
+ * Counts approved, active namhattas per country, state, district and sub-district from the
+ * NamhattaCountCube, or with a single GROUP BY ROLLUP query until the cube is loaded;
+ * supervisor district scoping is applied inside the query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class NamhattaRollupEngine {
+
+    private static final int DEPTH = 4;
+
+    private final NamhattaRepository namhattaRepository;
+    private final NamhattaCountCube countCube;
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * Compute the rollup, optionally limited to the given districts
+     * Served from the in-memory count cube once loaded, otherwise from SQL
+     */
+    public Rollup compute(List<String> allowedDistricts) {
+        if (applicationProperties.getCounters().isEnabled() && countCube.isLoaded()) {
+            return countCube.rollup(allowedDistricts);
+        }
+
+        if (allowedDistricts != null && allowedDistricts.isEmpty()) {
+            return new Rollup();
+        }
+
+        List<Object[]> rows = allowedDistricts != null
+                ? namhattaRepository.getNamhattaCountRollupInDistricts(allowedDistricts)
+                : namhattaRepository.getNamhattaCountRollup();
+
+        Rollup rollup = new Rollup();
+        for (Object[] row : rows) {
+            int mask = ((Number) row[4]).intValue();
+            // Grouped columns are trailing, so the number of set bits is how many levels were rolled up
+            int depth = DEPTH - Integer.bitCount(mask);
+            String[] path = new String[depth];
+            for (int i = 0; i < depth; i++) {
+                path[i] = (String) row[i];
+            }
+            rollup.add(path, ((Number) row[5]).longValue());
+        }
+
+        log.debug("Computed namhatta rollup with {} rows for districts: {}", rows.size(), allowedDistricts);
+        return rollup;
+    }
+
+    /**
+     * Counts keyed by geographic path: [], [country], [country, state], ... [country, state, district, sub-district]
+     */
+    public static class Rollup {
+
+        private final Map<List<String>, Long> counts = new HashMap<>();
+        private final Map<List<String>, SortedSet<String>> children = new HashMap<>();
+
+        public void add(String[] path, long count) {
+            List<String> key = Arrays.asList(path);
+            counts.merge(key, count, Long::sum);
+
+            // Unnamed levels still count towards their parent but are not listed as children
+            if (path.length > 0 && path[path.length - 1] != null && !path[path.length - 1].isBlank()) {
+                children.computeIfAbsent(key.subList(0, path.length - 1), k -> new TreeSet<>())
+                        .add(path[path.length - 1]);
+            }
+        }
+
+        public long total() {
+            return counts.getOrDefault(List.of(), 0L);
+        }
+
+        public long count(String... path) {
+            return counts.getOrDefault(Arrays.asList(path), 0L);
+        }
+
+        /**
+         * Named children of the path in alphabetical order
+         */
+        public List<String> childrenOf(String... path) {
+            SortedSet<String> names = children.get(Arrays.asList(path));
+            return names == null ? new ArrayList<>() : new ArrayList<>(names);
+        }
+
+        /**
+         * Number of distinct named entries at the given depth (1 = countries ... 4 = sub-districts)
+         */
+        public int distinctAtDepth(int depth) {
+            Set<String> names = new HashSet<>();
+            children.forEach((parent, childNames) -> {
+                if (parent.size() == depth - 1) {
+                    names.addAll(childNames);
+                }
+            });
+            return names.size();
+        }
+    }
+}
@@ -2,24 +2,39 @@ package com.namhatta.service;
 
 import com.namhatta.dto.*;
 import com.namhatta.entity.*;
+import com.namhatta.event.AddressDataChangedEvent;
+import com.namhatta.event.NamhattaChangedEvent;
 import com.namhatta.mapper.NamhattaMapper;
 import com.namhatta.repository.*;
+import com.namhatta.repository.projection.DevoteeListItem;
+import com.namhatta.repository.projection.DevoteeListReader;
+import com.namhatta.repository.projection.NamhattaListItem;
+import com.namhatta.repository.projection.NamhattaListReader;
+import com.namhatta.repository.specification.DevoteeFilter;
+import com.namhatta.repository.specification.NamhattaSpecifications;
+import com.namhatta.repository.support.KeysetPage;
+import com.namhatta.repository.support.KeysetPageReader;
 import com.namhatta.security.UserDetailsServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * NamhattaService - Business logic for namhatta management
@@ -31,6 +46,9 @@ import java.util.Optional;
 @Transactional
 public class NamhattaService {
     
+    private static final Set<String> KEYSET_SORTS = Set.of("name", "createdAt", "updatedAt", "id");
+    private static final int MAX_SCOPE_IDS = 1000; // Longer scoped id lists are filtered with EXISTS instead of IN
+    
     private final NamhattaRepository namhattaRepository;
     private final ShraddhakutirRepository shraddhakutirRepository;
     private final UserRepository userRepository;
@@ -38,12 +56,18 @@ public class NamhattaService {
     private final NamhattaAddressRepository namhattaAddressRepository;
     private final DevoteeRepository devoteeRepository;
     private final NamhattaMapper namhattaMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPageReader keysetPageReader;
+    private final NamhattaListReader namhattaListReader;
+    private final DevoteeListReader devoteeListReader;
+    private final DistrictAclIndex districtAclIndex;
     
     /**
      * Get all namhattas with filtering, pagination, and district access control
+     * Rows are read as NamhattaListItem projections
      */
     @Transactional(readOnly = true)
-    public PagedResponse<NamhattaDto> getAllNamhattas(int page, int size, String search, 
+    public PagedResponse<NamhattaListItem> getAllNamhattas(int page, int size, String search, 
                                                       String country, String state, String district, 
                                                       String subDistrict, String village, String status,
                                                       String sortBy, String sortOrder, List<String> allowedDistricts) {
@@ -53,32 +77,10 @@ public class NamhattaService {
         Sort sort = createSort(sortBy, sortOrder);
         Pageable pageable = PageRequest.of(page - 1, size, sort);
         
-        Page<Namhatta> namhattaPage;
-        
-        // Apply district filtering for supervisors
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-            if (search != null && !search.trim().isEmpty()) {
-                namhattaPage = namhattaRepository.searchNamhattasInDistricts(search.trim(), allowedDistricts, pageable);
-            } else {
-                namhattaPage = namhattaRepository.findActiveNamhattasInDistricts(allowedDistricts, pageable);
-            }
-        } else {
-            // Admin/Office users see all namhattas
-            if (search != null && !search.trim().isEmpty()) {
-                namhattaPage = namhattaRepository.findByNameContainingIgnoreCase(search.trim(), pageable);
-            } else if ("PENDING_APPROVAL".equals(status)) {
-                namhattaPage = namhattaRepository.findByIsApproved(false, pageable);
-            } else {
-                namhattaPage = namhattaRepository.findAll(pageable);
-            }
-        }
+        Page<NamhattaListItem> namhattaPage = namhattaListReader.read(listFilter(search, status, allowedDistricts), pageable);
         
-        List<NamhattaDto> namhattaDtos = namhattaPage.getContent().stream()
-                .map(namhattaMapper::toDto)
-                .toList();
-        
-        return PagedResponse.<NamhattaDto>builder()
-                .data(namhattaDtos)
+        return PagedResponse.<NamhattaListItem>builder()
+                .data(namhattaPage.getContent())
                 .page(page)
                 .size(size)
                 .total((int) namhattaPage.getTotalElements())
@@ -86,6 +88,32 @@ public class NamhattaService {
                 .build();
     }
     
+    /**
+     * Get namhattas in cursor mode with the same filters as getAllNamhattas
+     * Seeks past the (sort key, id) position in the cursor instead of using OFFSET;
+     * the total is only counted when includeTotal is set
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<NamhattaListItem> getNamhattasAfter(String after, int size, String search, String status,
+                                                             String sortBy, String sortOrder, List<String> allowedDistricts,
+                                                             boolean includeTotal) {
+        log.debug("Fetching namhattas after cursor: size={}, search={}, status={}", size, search, status);
+        
+        // Same default as createSort: newest first
+        boolean defaultSort = sortBy == null || sortBy.trim().isEmpty();
+        KeysetPage<Long> ids = keysetPageReader.read(Namhatta.class, listFilter(search, status, allowedDistricts),
+                defaultSort ? "createdAt" : sortBy.trim(),
+                defaultSort || "desc".equalsIgnoreCase(sortOrder),
+                KEYSET_SORTS, after, size, includeTotal);
+        
+        return PagedResponse.<NamhattaListItem>builder()
+                .data(namhattaListReader.readByIds(ids.content()))
+                .size(size)
+                .total(ids.total() != null ? ids.total().intValue() : null)
+                .nextCursor(ids.nextCursor())
+                .build();
+    }
+    
     /**
      * Get pending approval namhattas (Admin/Office only)
      */
@@ -93,8 +121,10 @@ public class NamhattaService {
     public List<NamhattaDto> getPendingApprovalNamhattas() {
         log.debug("Fetching pending approval namhattas");
         List<Namhatta> pendingNamhattas = namhattaRepository.findPendingApprovalNamhattas();
+        Map<Long, Long> devoteeCounts = devoteeRepository.countByNamhattaIds(
+                pendingNamhattas.stream().map(Namhatta::getId).toList());
         return pendingNamhattas.stream()
-                .map(namhattaMapper::toDto)
+                .map(namhatta -> namhattaMapper.toDto(namhatta, devoteeCounts.getOrDefault(namhatta.getId(), 0L)))
                 .toList();
     }
     
@@ -109,13 +139,13 @@ public class NamhattaService {
                 .orElseThrow(() -> new EntityNotFoundException("Namhatta not found with id: " + id));
         
         // Check district access for supervisors
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
+        if (allowedDistricts != null) {
             if (!hasDistrictAccess(namhatta, allowedDistricts)) {
                 throw new AccessDeniedException("Access denied: Namhatta not in your assigned districts");
             }
         }
         
-        return namhattaMapper.toDto(namhatta);
+        return namhattaMapper.toDto(namhatta, devoteeRepository.countByNamhatta(namhatta));
     }
     
     /**
@@ -140,7 +170,9 @@ public class NamhattaService {
             saveNamhattaAddress(savedNamhatta, createDto.getAddress());
         }
         
-        return namhattaMapper.toDto(savedNamhatta);
+        publishNamhattaChange(savedNamhatta, NamhattaChangedEvent.ChangeType.CREATED, null);
+        
+        return namhattaMapper.toDto(savedNamhatta, 0L);
     }
     
     /**
@@ -151,6 +183,7 @@ public class NamhattaService {
         
         Namhatta existingNamhatta = namhattaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Namhatta not found with id: " + id));
+        NamhattaChangedEvent.Snapshot before = snapshotOf(existingNamhatta);
         
         // Update fields from DTO
         namhattaMapper.updateEntityFromDto(updateDto, existingNamhatta);
@@ -163,7 +196,11 @@ public class NamhattaService {
             saveNamhattaAddress(updatedNamhatta, updateDto.getAddress());
         }
         
-        return namhattaMapper.toDto(updatedNamhatta);
+        publishNamhattaChange(updatedNamhatta, updateDto.getAddress() != null
+                ? NamhattaChangedEvent.ChangeType.ADDRESS_CHANGED
+                : NamhattaChangedEvent.ChangeType.UPDATED, before);
+        
+        return namhattaMapper.toDto(updatedNamhatta, devoteeRepository.countByNamhatta(updatedNamhatta));
     }
     
     /**
@@ -186,8 +223,10 @@ public class NamhattaService {
         Namhatta namhatta = namhattaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Namhatta not found with id: " + id));
         
+        NamhattaChangedEvent.Snapshot before = snapshotOf(namhatta);
         namhatta.setIsApproved(true);
         namhattaRepository.save(namhatta);
+        publishNamhattaChange(namhatta, NamhattaChangedEvent.ChangeType.APPROVED, before);
         
         log.debug("Namhatta {} approved successfully", id);
     }
@@ -202,8 +241,10 @@ public class NamhattaService {
                 .orElseThrow(() -> new EntityNotFoundException("Namhatta not found with id: " + id));
         
         // For rejection, we might want to mark as inactive or add rejection reason
+        NamhattaChangedEvent.Snapshot before = snapshotOf(namhatta);
         namhatta.setIsActive(false);
         namhattaRepository.save(namhatta);
+        publishNamhattaChange(namhatta, NamhattaChangedEvent.ChangeType.REJECTED, before);
         
         log.debug("Namhatta {} rejected successfully", id);
     }
@@ -212,7 +253,7 @@ public class NamhattaService {
      * Get devotees by namhatta
      */
     @Transactional(readOnly = true)
-    public PagedResponse<DevoteeDto> getDevoteesByNamhatta(Long namhattaId, int page, int size, Long statusId, List<String> allowedDistricts) {
+    public PagedResponse<DevoteeListItem> getDevoteesByNamhatta(Long namhattaId, int page, int size, Long statusId, List<String> allowedDistricts) {
         log.debug("Fetching devotees for namhatta: {}, page: {}, size: {}", namhattaId, page, size);
         
         // Verify namhatta exists and user has access
@@ -220,38 +261,19 @@ public class NamhattaService {
                 .orElseThrow(() -> new EntityNotFoundException("Namhatta not found with id: " + namhattaId));
         
         // Check district access for supervisors
-        if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
+        if (allowedDistricts != null) {
             if (!hasDistrictAccess(namhatta, allowedDistricts)) {
                 throw new AccessDeniedException("Access denied: Namhatta not in your assigned districts");
             }
         }
         
-        // Get devotees for this namhatta using DevoteeRepository
+        // Get devotees for this namhatta as list projections
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by("createdAt").descending());
-        Page<Devotee> devoteePage;
+        DevoteeFilter filter = DevoteeFilter.builder().namhattaId(namhattaId).statusId(statusId).build();
+        Page<DevoteeListItem> devoteePage = devoteeListReader.read(filter.toSpecification(false), pageable);
         
-        if (statusId != null) {
-            devoteePage = devoteeRepository.findByNamhattaAndDevotionalStatusId(namhatta, statusId, pageable);
-        } else {
-            devoteePage = devoteeRepository.findByNamhatta(namhatta, pageable);
-        }
-        
-        List<DevoteeDto> devoteeDtos = devoteePage.getContent().stream()
-                .map(devotee -> DevoteeDto.builder()
-                    .id(devotee.getId())
-                    .name(devotee.getName())
-                    .gender(devotee.getGender())
-                    .dateOfBirth(devotee.getDateOfBirth())
-                    .contactNumber(devotee.getContactNumber())
-                    .isActive(devotee.getIsActive())
-                    .namhattaId(devotee.getNamhatta() != null ? devotee.getNamhatta().getId() : null)
-                    .devotionalStatusId(devotee.getDevotionalStatus() != null ? devotee.getDevotionalStatus().getId() : null)
-                    .devotionalStatusName(devotee.getDevotionalStatus() != null ? devotee.getDevotionalStatus().getName() : null)
-                    .build())
-                .toList();
-        
-        return PagedResponse.<DevoteeDto>builder()
-                .data(devoteeDtos)
+        return PagedResponse.<DevoteeListItem>builder()
+                .data(devoteePage.getContent())
                 .page(page)
                 .size(size)
                 .total((int) devoteePage.getTotalElements())
@@ -261,6 +283,25 @@ public class NamhattaService {
     
     // Helper methods
     
+    /**
+     * Namhatta list filter; supervisors see active namhattas in their districts
+     */
+    private Specification<Namhatta> listFilter(String search, String status, List<String> allowedDistricts) {
+        boolean hasSearch = search != null && !search.trim().isEmpty();
+        Specification<Namhatta> filter = Specification.where(null);
+        if (allowedDistricts != null) {
+            filter = filter.and(NamhattaSpecifications.isActive()).and(inScope(allowedDistricts));
+            if (hasSearch) {
+                filter = filter.and(NamhattaSpecifications.nameContains(search));
+            }
+        } else if (hasSearch) {
+            filter = filter.and(NamhattaSpecifications.nameContains(search));
+        } else if ("PENDING_APPROVAL".equals(status)) {
+            filter = filter.and(NamhattaSpecifications.isApproved(false));
+        }
+        return filter;
+    }
+    
     private Sort createSort(String sortBy, String sortOrder) {
         if (sortBy == null || sortBy.trim().isEmpty()) {
             return Sort.by("createdAt").descending();
@@ -272,8 +313,25 @@ public class NamhattaService {
         return Sort.by(direction, sortBy);
     }
     
+    /**
+     * Supervisor scope as an id list from the ACL index when it is loaded and the list is short,
+     * otherwise as an EXISTS probe on the namhatta's addresses
+     */
+    private Specification<Namhatta> inScope(List<String> allowedDistricts) {
+        List<Long> ids = districtAclIndex.namhattaIdsInDistricts(allowedDistricts);
+        if (ids != null && ids.size() <= MAX_SCOPE_IDS) {
+            return NamhattaSpecifications.idIn(ids);
+        }
+        return NamhattaSpecifications.inDistricts(allowedDistricts);
+    }
+    
     private boolean hasDistrictAccess(Namhatta namhatta, List<String> allowedDistricts) {
-        // Check if the namhatta is in any of the allowed districts
+        Boolean indexed = districtAclIndex.namhattaInDistricts(namhatta.getId(), allowedDistricts);
+        if (indexed != null) {
+            return indexed;
+        }
+        
+        // Not in the index yet; check if the namhatta is in any of the allowed districts
         try {
             // Get namhatta addresses and check districts
             List<NamhattaAddress> namhattaAddresses = namhatta.getAddresses();
@@ -307,6 +365,7 @@ public class NamhattaService {
                 .build();
         
         Address savedAddress = addressRepository.save(address);
+        eventPublisher.publishEvent(AddressDataChangedEvent.of(savedAddress));
         
         // Create namhatta-address relationship
         NamhattaAddress namhattaAddress = NamhattaAddress.builder()
@@ -318,4 +377,25 @@ public class NamhattaService {
         
         namhattaAddressRepository.save(namhattaAddress);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Capture the state count aggregates care about: approval, activity and locations
+     */
+    private NamhattaChangedEvent.Snapshot snapshotOf(Namhatta namhatta) {
+        Set<NamhattaChangedEvent.Location> locations = new HashSet<>();
+        for (NamhattaAddress namhattaAddress : namhattaAddressRepository.findByNamhatta(namhatta)) {
+            Address address = namhattaAddress.getAddress();
+            if (address != null) {
+                locations.add(new NamhattaChangedEvent.Location(address.getCountry(), address.getStateNameEnglish(),
+                        address.getDistrictNameEnglish(), address.getSubdistrictNameEnglish()));
+            }
+        }
+        return new NamhattaChangedEvent.Snapshot(Boolean.TRUE.equals(namhatta.getIsApproved()),
+                Boolean.TRUE.equals(namhatta.getIsActive()), locations);
+    }
+    
+    private void publishNamhattaChange(Namhatta namhatta, NamhattaChangedEvent.ChangeType type,
+                                       NamhattaChangedEvent.Snapshot before) {
+        eventPublisher.publishEvent(new NamhattaChangedEvent(namhatta.getId(), type, before, snapshotOf(namhatta)));
+    }
+}
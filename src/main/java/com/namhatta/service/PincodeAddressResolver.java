@@ -0,0 +1,143 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.AddressDataChangedEvent;
+import com.namhatta.repository.AddressRepository;
+import com.namhatta.util.BoundedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * PincodeAddressResolver - Resolves pincodes to country/state/district and their sub-districts
+ * Uncached pincodes are resolved together with one aggregated query; resolved pincodes are kept in a
+ * bounded LRU cache and evicted per pincode when new address rows commit. Misses are not cached, so a
+ * pincode becomes resolvable as soon as its first address row commits, and a load that overlapped an
+ * eviction is returned but not cached.
+ * When a pincode spans several districts the one with the most address rows wins, ties broken
+ * alphabetically, so the answer is stable across calls.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class PincodeAddressResolver {
+
+    private static final int QUERY_CHUNK_SIZE = 500;
+
+    private final AddressRepository addressRepository;
+    private final BoundedCache<String, PincodeAddress> cache;
+
+    /**
+     * Resolved address for one pincode
+     */
+    public record PincodeAddress(String pincode, String country, String state, String district, List<String> subDistricts) {
+    }
+
+    public PincodeAddressResolver(AddressRepository addressRepository, ApplicationProperties applicationProperties) {
+        this.addressRepository = addressRepository;
+        this.cache = new BoundedCache<>(applicationProperties.getGeographic().getPincodeCacheSize());
+    }
+
+    /**
+     * Resolve a single pincode
+     */
+    public Optional<PincodeAddress> resolve(String pincode) {
+        if (pincode == null || pincode.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(resolveAll(List.of(pincode)).get(pincode.trim()));
+    }
+
+    /**
+     * Resolve many pincodes at once; unknown pincodes are absent from the result
+     */
+    public Map<String, PincodeAddress> resolveAll(Collection<String> pincodes) {
+        Map<String, PincodeAddress> resolved = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String raw : new LinkedHashSet<>(pincodes)) {
+            if (raw == null || raw.isBlank()) {
+                continue;
+            }
+            String pincode = raw.trim();
+            PincodeAddress cached = cache.get(pincode);
+            if (cached == null) {
+                missing.add(pincode);
+            } else {
+                resolved.put(pincode, cached);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += QUERY_CHUNK_SIZE) {
+            List<String> chunk = missing.subList(from, Math.min(from + QUERY_CHUNK_SIZE, missing.size()));
+            long generation = cache.generation();
+            Map<String, PincodeAddress> loaded = load(chunk);
+            for (String pincode : chunk) {
+                PincodeAddress address = loaded.get(pincode);
+                if (address != null) {
+                    cache.putIfCurrent(pincode, address, generation);
+                    resolved.put(pincode, address);
+                }
+            }
+        }
+
+        log.debug("Resolved {} of {} pincodes ({} from database)", resolved.size(), pincodes.size(), missing.size());
+        return resolved;
+    }
+
+    /**
+     * Drop cached resolutions once new address data has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAddressDataChanged(AddressDataChangedEvent event) {
+        if (event.pincode() == null) {
+            return;
+        }
+        cache.invalidate(event.pincode().trim());
+    }
+
+    private Map<String, PincodeAddress> load(List<String> pincodes) {
+        // pincode -> (country, state, district) -> (row count, sub-districts)
+        Map<String, Map<List<String>, DistrictTally>> tallies = new HashMap<>();
+        for (Object[] row : addressRepository.aggregateByPincodes(pincodes)) {
+            String pincode = ((String) row[0]).trim();
+            List<String> district = Arrays.asList((String) row[1], (String) row[2], (String) row[3]);
+            DistrictTally tally = tallies.computeIfAbsent(pincode, p -> new HashMap<>())
+                    .computeIfAbsent(district, d -> new DistrictTally());
+            tally.rows += ((Number) row[5]).longValue();
+            if (row[4] != null) {
+                tally.subDistricts.add((String) row[4]);
+            }
+        }
+
+        Map<String, PincodeAddress> loaded = new HashMap<>();
+        tallies.forEach((pincode, byDistrict) -> {
+            Map.Entry<List<String>, DistrictTally> best = byDistrict.entrySet().stream()
+                    .min(Comparator.<Map.Entry<List<String>, DistrictTally>>comparingLong(e -> -e.getValue().rows)
+                            .thenComparing(e -> e.getKey(), PincodeAddressResolver::compareNames))
+                    .orElseThrow();
+            List<String> names = best.getKey();
+            loaded.put(pincode, new PincodeAddress(pincode, names.get(0), names.get(1), names.get(2),
+                    List.copyOf(best.getValue().subDistricts)));
+        });
+        return loaded;
+    }
+
+    private static int compareNames(List<String> left, List<String> right) {
+        for (int i = 0; i < left.size(); i++) {
+            int result = Comparator.nullsLast(Comparator.<String>naturalOrder()).compare(left.get(i), right.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static final class DistrictTally {
+        private long rows;
+        private final SortedSet<String> subDistricts = new TreeSet<>();
+    }
+}
@@ -0,0 +1,425 @@
+package com.namhatta.service;
+
+import com.namhatta.repository.AddressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * PincodeIndex - Sorted, primitive-encoded set of distinct pincodes per country
+ * Pincodes of the dominant numeric width are stored as a sorted int[] (zero padding is
+ * implied by the fixed width, so numeric order equals lexical order); anything else goes
+ * to a small sorted overflow array. Prefix queries are binary-searched ranges, substring
+ * queries are allocation-free scans, and both support offset and cursor pagination.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PincodeIndex {
+
+    private static final String ALL_COUNTRIES = "";
+    private static final int MAX_NUMERIC_WIDTH = 9;
+    private static final int[] POW10 = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000};
+
+    private final AddressRepository addressRepository;
+
+    private final AtomicReference<Map<String, CountryPincodes>> snapshot = new AtomicReference<>();
+
+    /**
+     * One page of pincode results
+     */
+    public record PincodePage(List<String> pincodes, int total, boolean hasMore, String nextCursor) {
+    }
+
+    /**
+     * Rebuild the whole index from the database and publish it atomically
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+
+        Map<String, Set<String>> byCountry = new HashMap<>();
+        Set<String> all = new HashSet<>();
+        try (Stream<Object[]> rows = addressRepository.streamDistinctCountryPincodes()) {
+            rows.forEach(row -> {
+                String pincode = ((String) row[1]).trim();
+                if (pincode.isEmpty()) {
+                    return;
+                }
+                byCountry.computeIfAbsent((String) row[0], c -> new HashSet<>()).add(pincode);
+                all.add(pincode);
+            });
+        }
+
+        Map<String, CountryPincodes> built = new HashMap<>(byCountry.size() * 2 + 1);
+        byCountry.forEach((country, pincodes) -> built.put(country, CountryPincodes.of(pincodes)));
+        built.put(ALL_COUNTRIES, CountryPincodes.of(all));
+        snapshot.set(Collections.unmodifiableMap(built));
+
+        log.info("Pincode index rebuilt: {} distinct pincodes across {} countries in {} ms",
+                all.size(), byCountry.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Whether a snapshot has been loaded; callers fall back to the database until then
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Whether the pincode is already indexed for the country
+     */
+    public boolean contains(String country, String pincode) {
+        Map<String, CountryPincodes> current = snapshot.get();
+        if (current == null || pincode == null) {
+            return false;
+        }
+        CountryPincodes entry = current.get(country != null ? country : ALL_COUNTRIES);
+        return entry != null && entry.contains(pincode.trim());
+    }
+
+    /**
+     * Pincodes starting with the prefix (all pincodes when the prefix is blank)
+     * Country may be null to search across every country.
+     */
+    public PincodePage prefixSearch(String country, String prefix, int offset, int limit, String after) {
+        CountryPincodes entry = entryFor(country);
+        if (entry == null) {
+            return new PincodePage(new ArrayList<>(), 0, false, null);
+        }
+        return entry.prefixPage(prefix == null ? "" : prefix.trim(), offset, limit, after);
+    }
+
+    /**
+     * Pincodes containing the query anywhere
+     * Country may be null to search across every country.
+     */
+    public PincodePage substringSearch(String country, String query, int offset, int limit, String after) {
+        CountryPincodes entry = entryFor(country);
+        if (entry == null) {
+            return new PincodePage(new ArrayList<>(), 0, false, null);
+        }
+        return entry.substringPage(query == null ? "" : query.trim(), offset, limit, after);
+    }
+
+    private CountryPincodes entryFor(String country) {
+        Map<String, CountryPincodes> current = snapshot.get();
+        if (current == null) {
+            return null;
+        }
+        return current.get(country != null && !country.isBlank() ? country : ALL_COUNTRIES);
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable pincode set for one country
+     */
+    private static final class CountryPincodes {
+        private final int width;
+        private final int[] codes;
+        private final String[] overflow;
+
+        private CountryPincodes(int width, int[] codes, String[] overflow) {
+            this.width = width;
+            this.codes = codes;
+            this.overflow = overflow;
+        }
+
+        static CountryPincodes of(Collection<String> pincodes) {
+            // Pick the most common numeric width; everything else is overflow
+            int[] widthCounts = new int[MAX_NUMERIC_WIDTH + 1];
+            for (String pincode : pincodes) {
+                if (pincode.length() <= MAX_NUMERIC_WIDTH && isDigits(pincode)) {
+                    widthCounts[pincode.length()]++;
+                }
+            }
+            int width = 0;
+            for (int w = 1; w <= MAX_NUMERIC_WIDTH; w++) {
+                if (widthCounts[w] > widthCounts[width]) {
+                    width = w;
+                }
+            }
+
+            int[] codes = new int[widthCounts[width]];
+            List<String> overflow = new ArrayList<>();
+            int index = 0;
+            for (String pincode : pincodes) {
+                if (width > 0 && pincode.length() == width && isDigits(pincode)) {
+                    codes[index++] = Integer.parseInt(pincode);
+                } else {
+                    overflow.add(pincode);
+                }
+            }
+            Arrays.sort(codes);
+            String[] overflowArray = overflow.toArray(new String[0]);
+            Arrays.sort(overflowArray);
+            return new CountryPincodes(width, codes, overflowArray);
+        }
+
+        boolean contains(String pincode) {
+            if (width > 0 && pincode.length() == width && isDigits(pincode)) {
+                return Arrays.binarySearch(codes, Integer.parseInt(pincode)) >= 0;
+            }
+            return Arrays.binarySearch(overflow, pincode) >= 0;
+        }
+
+        PincodePage prefixPage(String prefix, int offset, int limit, String after) {
+            // Matching ranges in both arrays
+            int codesFrom = 0;
+            int codesTo = 0;
+            if (prefix.isEmpty()) {
+                codesTo = codes.length;
+            } else if (prefix.length() <= width && isDigits(prefix)) {
+                int scale = POW10[width - prefix.length()];
+                long low = Long.parseLong(prefix) * scale;
+                codesFrom = lowerBound(codes, low);
+                codesTo = lowerBound(codes, low + scale);
+            }
+            int overflowFrom = prefix.isEmpty() ? 0 : lowerBound(overflow, prefix);
+            int overflowTo = prefix.isEmpty() ? overflow.length : lowerBound(overflow, prefix + Character.MAX_VALUE);
+
+            int total = (codesTo - codesFrom) + (overflowTo - overflowFrom);
+
+            if (after != null && !after.isEmpty()) {
+                codesFrom = Math.max(codesFrom, firstCodeAfter(after));
+                overflowFrom = Math.max(overflowFrom, upperBound(overflow, after));
+            }
+
+            // Fast path: only the int array contributes, so the page is a direct slice
+            if (overflowFrom >= overflowTo) {
+                int start = Math.min(codesFrom + Math.max(offset, 0), codesTo);
+                int end = Math.min(start + limit, codesTo);
+                List<String> page = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    page.add(format(codes[i]));
+                }
+                return toPage(page, total, end < codesTo);
+            }
+
+            Cursor cursor = new Cursor(codesFrom, codesTo, overflowFrom, overflowTo, null, null);
+            return collect(cursor, total, offset, limit);
+        }
+
+        PincodePage substringPage(String query, int offset, int limit, String after) {
+            if (query.isEmpty()) {
+                return prefixPage(query, offset, limit, after);
+            }
+
+            IntPredicate codeMatch = digitMatcher(query);
+            Predicate<String> overflowMatch = value -> value.contains(query);
+
+            int total = 0;
+            if (codeMatch != null) {
+                for (int code : codes) {
+                    if (codeMatch.test(code)) {
+                        total++;
+                    }
+                }
+            }
+            for (String value : overflow) {
+                if (value.contains(query)) {
+                    total++;
+                }
+            }
+
+            int codesFrom = codeMatch == null ? codes.length : 0;
+            int overflowFrom = 0;
+            if (after != null && !after.isEmpty()) {
+                codesFrom = Math.max(codesFrom, firstCodeAfter(after));
+                overflowFrom = upperBound(overflow, after);
+            }
+
+            Cursor cursor = new Cursor(codesFrom, codes.length, overflowFrom, overflow.length, codeMatch, overflowMatch);
+            return collect(cursor, total, offset, limit);
+        }
+
+        private PincodePage collect(Cursor cursor, int total, int offset, int limit) {
+            for (int skipped = 0; skipped < offset && cursor.next() != null; skipped++) {
+                // Skip to the requested offset
+            }
+            List<String> page = new ArrayList<>(Math.min(limit, 256));
+            String value;
+            while (page.size() < limit && (value = cursor.next()) != null) {
+                page.add(value);
+            }
+            return toPage(page, total, cursor.hasNext());
+        }
+
+        private PincodePage toPage(List<String> page, int total, boolean hasMore) {
+            String nextCursor = hasMore && !page.isEmpty() ? page.get(page.size() - 1) : null;
+            return new PincodePage(page, total, hasMore, nextCursor);
+        }
+
+        /**
+         * Test whether the zero-padded code contains the digit query, without formatting it
+         */
+        private IntPredicate digitMatcher(String query) {
+            if (query.length() > width || !isDigits(query)) {
+                return null;
+            }
+            int length = query.length();
+            int target = Integer.parseInt(query);
+            int modulus = POW10[length];
+            int shifts = width - length;
+            return code -> {
+                for (int shift = 0; shift <= shifts; shift++) {
+                    if ((code / POW10[shift]) % modulus == target) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        private int firstCodeAfter(String after) {
+            int low = 0;
+            int high = codes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (format(codes[mid]).compareTo(after) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private String format(int code) {
+            String digits = Integer.toString(code);
+            if (digits.length() >= width) {
+                return digits;
+            }
+            StringBuilder padded = new StringBuilder(width);
+            for (int i = digits.length(); i < width; i++) {
+                padded.append('0');
+            }
+            return padded.append(digits).toString();
+        }
+
+        private static int lowerBound(int[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int lowerBound(String[] values, String key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int upperBound(String[] values, String key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid].compareTo(key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Lexically ordered merge of the int and overflow ranges, with optional filters
+         */
+        private final class Cursor {
+            private int codeIndex;
+            private final int codeEnd;
+            private int overflowIndex;
+            private final int overflowEnd;
+            private final IntPredicate codeMatch;
+            private final Predicate<String> overflowMatch;
+            private String pendingCode;
+
+            Cursor(int codeIndex, int codeEnd, int overflowIndex, int overflowEnd,
+                   IntPredicate codeMatch, Predicate<String> overflowMatch) {
+                this.codeIndex = codeIndex;
+                this.codeEnd = codeEnd;
+                this.overflowIndex = overflowIndex;
+                this.overflowEnd = overflowEnd;
+                this.codeMatch = codeMatch;
+                this.overflowMatch = overflowMatch;
+            }
+
+            boolean hasNext() {
+                return peekCode() != null || peekOverflow() != null;
+            }
+
+            String next() {
+                String code = peekCode();
+                String other = peekOverflow();
+                if (code == null && other == null) {
+                    return null;
+                }
+                if (other == null || (code != null && code.compareTo(other) <= 0)) {
+                    pendingCode = null;
+                    codeIndex++;
+                    return code;
+                }
+                overflowIndex++;
+                return other;
+            }
+
+            private String peekCode() {
+                if (pendingCode != null) {
+                    return pendingCode;
+                }
+                while (codeIndex < codeEnd && codeMatch != null && !codeMatch.test(codes[codeIndex])) {
+                    codeIndex++;
+                }
+                if (codeIndex >= codeEnd) {
+                    return null;
+                }
+                pendingCode = format(codes[codeIndex]);
+                return pendingCode;
+            }
+
+            private String peekOverflow() {
+                while (overflowIndex < overflowEnd && overflowMatch != null && !overflowMatch.test(overflow[overflowIndex])) {
+                    overflowIndex++;
+                }
+                return overflowIndex < overflowEnd ? overflow[overflowIndex] : null;
+            }
+        }
+    }
+}
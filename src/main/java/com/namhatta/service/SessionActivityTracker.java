@@ -0,0 +1,79 @@
+package com.namhatta.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SessionActivityTracker - Coalesces user_sessions.last_activity_at updates
+ * Requests only record the time in memory; each flush writes the latest time per session in one
+ * JDBC batch, so a session costs at most one row update per interval however many requests it makes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionActivityTracker {
+
+    private static final String UPDATE_ACTIVITY = """
+            UPDATE user_sessions SET last_activity_at = ?
+            WHERE session_token = ? AND is_active = true AND last_activity_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record activity on a session; written on the next flush
+     */
+    public void touch(String sessionToken) {
+        pending.put(sessionToken, LocalDateTime.now());
+    }
+
+    /**
+     * Drop pending activity for a session that has just been closed
+     */
+    public void forget(String sessionToken) {
+        pending.remove(sessionToken);
+    }
+
+    @Scheduled(initialDelayString = "${app.sessions.activity-flush-ms:30000}",
+               fixedDelayString = "${app.sessions.activity-flush-ms:30000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(pending.size());
+        for (String sessionToken : List.copyOf(pending.keySet())) {
+            LocalDateTime lastActivity = pending.remove(sessionToken);
+            if (lastActivity != null) {
+                Timestamp at = Timestamp.valueOf(lastActivity);
+                updates.add(new Object[]{at, sessionToken, at});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_ACTIVITY, updates);
+            log.debug("Flushed activity for {} session(s)", updates.size());
+        } catch (Exception e) {
+            // Activity times are informational; a lost flush only makes them older
+            log.warn("Failed to flush session activity for {} session(s): {}", updates.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,12 +1,18 @@
 package com.namhatta.service;
 
+import com.namhatta.config.ApplicationProperties;
 import com.namhatta.entity.User;
 import com.namhatta.entity.UserSession;
+import com.namhatta.event.UserChangedEvent;
 import com.namhatta.repository.UserSessionRepository;
-import lombok.RequiredArgsConstructor;
+import com.namhatta.util.BoundedCache;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -14,14 +20,33 @@ import java.util.UUID;
 /**
  * Service for managing user sessions
  * Implements single login enforcement matching Node.js behavior
+ * Validated sessions are cached for app.sessions.validity-cache-ttl-ms and dropped after login and logout commit,
+ * and activity times are written in batches by SessionActivityTracker, so authenticated reads do not
+ * write to user_sessions. A session closed through another instance stays valid here for at most the TTL.
+ * Closing sessions publishes a UserChangedEvent so the user's cached principal is reloaded on next use.
  */
 @Service
 @Transactional
-@RequiredArgsConstructor
 @Slf4j
 public class SessionService {
     
     private final UserSessionRepository userSessionRepository;
+    private final SessionActivityTracker activityTracker;
+    private final ApplicationProperties applicationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoundedCache<String, ValidSession> validSessions;
+    
+    private record ValidSession(String username, long validUntil) {
+    }
+    
+    public SessionService(UserSessionRepository userSessionRepository, SessionActivityTracker activityTracker,
+                          ApplicationProperties applicationProperties, ApplicationEventPublisher eventPublisher) {
+        this.userSessionRepository = userSessionRepository;
+        this.activityTracker = activityTracker;
+        this.applicationProperties = applicationProperties;
+        this.eventPublisher = eventPublisher;
+        this.validSessions = new BoundedCache<>(applicationProperties.getSessions().getValidityCacheSize());
+    }
     
     /**
      * Create a new session for the user (enforces single login)
@@ -56,6 +81,7 @@ public class SessionService {
     /**
      * Validate if session is still active and valid
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isSessionValid(String username, String sessionToken) {
         log.trace("Validating session for user: {} with token: {}", 
                  username, sessionToken != null ? sessionToken.substring(0, 8) + "..." : "null");
@@ -65,6 +91,13 @@ public class SessionService {
             return false;
         }
         
+        long now = System.currentTimeMillis();
+        ValidSession cached = validSessions.get(sessionToken);
+        if (cached != null && cached.validUntil() > now && cached.username().equals(username)) {
+            activityTracker.touch(sessionToken);
+            return true;
+        }
+        
         UserSession session = userSessionRepository.findByUsernameAndSessionTokenAndIsActive(
             username, sessionToken, true);
         
@@ -73,9 +106,12 @@ public class SessionService {
             return false;
         }
         
-        // Update last activity
-        session.setLastActivityAt(LocalDateTime.now());
-        userSessionRepository.save(session);
+        // Last activity is written by the tracker's next flush
+        activityTracker.touch(sessionToken);
+        long ttl = applicationProperties.getSessions().getValidityCacheTtlMs();
+        if (ttl > 0) {
+            validSessions.put(sessionToken, new ValidSession(username, now + ttl));
+        }
         
         log.trace("Session valid for user: {}", username);
         return true;
@@ -93,6 +129,10 @@ public class SessionService {
             return;
         }
         
+        // The cached validity is dropped by onUserChanged once the session row is committed inactive
+        activityTracker.forget(sessionToken);
+        eventPublisher.publishEvent(new UserChangedEvent(null, username));
+        
         UserSession session = userSessionRepository.findByUsernameAndSessionTokenAndIsActive(
             username, sessionToken, true);
         
@@ -113,6 +153,8 @@ public class SessionService {
     public void invalidateAllUserSessions(String username) {
         log.debug("Invalidating all sessions for user: {}", username);
         
+        eventPublisher.publishEvent(new UserChangedEvent(null, username));
+        
         int invalidatedCount = userSessionRepository.invalidateAllUserSessions(username);
         
         if (invalidatedCount > 0) {
@@ -122,6 +164,18 @@ public class SessionService {
         }
     }
     
+    /**
+     * Drop the user's cached sessions once their closing commits
+     * Evicting earlier would let a concurrent validation re-cache the still-active row for the full TTL.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.username() != null) {
+            validSessions.invalidateIf(session -> session.username().equals(event.username()));
+        }
+    }
+    
     /**
      * Clean up expired sessions (can be called by scheduled task)
      */
@@ -2,13 +2,17 @@ package com.namhatta.service;
 
 import com.namhatta.entity.Update;
 import com.namhatta.entity.Namhatta;
+import com.namhatta.entity.NamhattaAddress;
+import com.namhatta.event.ProgramUpdateCreatedEvent;
 import com.namhatta.repository.UpdateRepository;
+import com.namhatta.repository.NamhattaAddressRepository;
 import com.namhatta.repository.NamhattaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +31,8 @@ public class UpdatesService {
     
     private final UpdateRepository updateRepository;
     private final NamhattaRepository namhattaRepository;
+    private final NamhattaAddressRepository namhattaAddressRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get updates with pagination and filtering
@@ -43,9 +49,11 @@ public class UpdatesService {
             if (namhattaId != null) {
                 // Get updates for specific namhatta
                 updatesPage = updateRepository.findByNamhattaId(namhattaId, pageable);
-            } else if (allowedDistricts != null && !allowedDistricts.isEmpty()) {
-                // District supervisor - filter by allowed districts
-                updatesPage = updateRepository.findUpdatesByDistricts(allowedDistricts, pageable);
+            } else if (allowedDistricts != null) {
+                // District supervisor - filter by allowed districts; no districts means no updates
+                updatesPage = allowedDistricts.isEmpty()
+                    ? Page.empty(pageable)
+                    : updateRepository.findUpdatesByDistricts(allowedDistricts, pageable);
             } else {
                 // Admin/Office - get all updates
                 updatesPage = updateRepository.findAllByOrderByCreatedAtDesc(pageable);
@@ -120,6 +128,15 @@ public class UpdatesService {
             
             Update savedUpdate = updateRepository.save(update);
             
+            Set<String> districts = new TreeSet<>();
+            for (NamhattaAddress namhattaAddress : namhattaAddressRepository.findByNamhatta(namhatta)) {
+                if (namhattaAddress.getAddress() != null && namhattaAddress.getAddress().getDistrictNameEnglish() != null) {
+                    districts.add(namhattaAddress.getAddress().getDistrictNameEnglish());
+                }
+            }
+            eventPublisher.publishEvent(new ProgramUpdateCreatedEvent(savedUpdate.getId(), namhattaId, namhatta.getName(),
+                    savedUpdate.getProgramType(), savedUpdate.getDate(), savedUpdate.getAttendance(), Set.copyOf(districts)));
+            
             log.info("Update created successfully: {} for namhatta {}", savedUpdate.getId(), namhattaId);
             return convertUpdateToMap(savedUpdate);
             
@@ -0,0 +1,99 @@
+package com.namhatta.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * BoundedCache - Small thread-safe LRU cache for in-process lookups
+ * Evicts the least recently used entry once maxSize is reached.
+ * Every invalidation bumps a generation counter; loaders that read the generation before going to the
+ * database can store with putIfCurrent so a result that raced an invalidation is not cached.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+    private long generation;
+
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > BoundedCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Current generation; read it before loading a value that will be stored with putIfCurrent
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store the value only if nothing was invalidated since the given generation was read
+     */
+    public synchronized boolean putIfCurrent(K key, V value, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        entries.put(key, value);
+        return true;
+    }
+
+    /**
+     * Return the cached value or compute and cache it; the loader runs outside the lock
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Remove every entry whose value matches
+     */
+    public synchronized void invalidateIf(Predicate<? super V> predicate) {
+        generation++;
+        entries.values().removeIf(predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+}
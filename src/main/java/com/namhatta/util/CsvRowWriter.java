@@ -0,0 +1,48 @@
+package com.namhatta.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CsvRowWriter - RFC 4180 writer, the counterpart of CsvRowReader
+ * Fields containing commas, quotes or line breaks are quoted with embedded quotes doubled;
+ * null is written as an empty field. Records end with CRLF.
+ */
+public class CsvRowWriter {
+
+    private final Writer writer;
+
+    public CsvRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write one record; values are written with toString()
+     */
+    public void write(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,56 @@
+package com.namhatta.util;
+
+import java.util.Locale;
+
+/**
+ * PhoneticKey - Consonant skeleton of a name, tolerant of common romanization variants
+ * Aspirates and sibilants are folded (Shyam/Syam, Krishna/Krsna), v and w fold into b
+ * (Vishnu/Bishnu), vowels after the first letter are dropped and repeated letters collapse.
+ * Word breaks are ignored, so "Ram Kumar" and "Ramkumar" share a key.
+ */
+public final class PhoneticKey {
+
+    private static final String[][] FOLDS = {
+            {"sh", "s"}, {"ch", "c"}, {"kh", "k"}, {"gh", "g"}, {"th", "t"}, {"dh", "d"},
+            {"ph", "f"}, {"bh", "b"}, {"jh", "j"}, {"ck", "k"}, {"q", "k"}, {"x", "ks"},
+            {"z", "j"}, {"w", "b"}, {"v", "b"}
+    };
+
+    private PhoneticKey() {
+    }
+
+    /**
+     * The key for a name; empty when the name has no letters
+     */
+    public static String of(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder letters = new StringBuilder(name.length());
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c >= 'a' && c <= 'z') {
+                letters.append(c);
+            }
+        }
+        if (letters.isEmpty()) {
+            return "";
+        }
+
+        String folded = letters.toString();
+        for (String[] fold : FOLDS) {
+            folded = folded.replace(fold[0], fold[1]);
+        }
+
+        StringBuilder key = new StringBuilder(folded.length());
+        key.append(folded.charAt(0));
+        char previous = folded.charAt(0);
+        for (int i = 1; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (c != previous && "aeiouyh".indexOf(c) < 0) {
+                key.append(c);
+            }
+            previous = c;
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.namhatta.config.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisBucketStore's compare-and-swap scripts and key expiry against a real Redis
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisBucketStoreRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final byte[] KEY = "rate-limit:test".getBytes(StandardCharsets.UTF_8);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = RateLimitConfig.redisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    void createOnlySetsAMissingKeyAndAppliesTheTtl() {
+        assertThat(eval(RedisBucketStore.CREATE, "first", "60000")).isTrue();
+        assertThat(eval(RedisBucketStore.CREATE, "second", "60000")).isFalse();
+
+        assertThat(get()).isEqualTo("first");
+        assertThat(pttl()).isBetween(1L, 60_000L);
+    }
+
+    @Test
+    void swapOnlyReplacesTheExpectedStateAndRefreshesTheTtl() {
+        eval(RedisBucketStore.CREATE, "first", "1000");
+
+        assertThat(eval(RedisBucketStore.SWAP, "stale", "lost", "60000")).isFalse();
+        assertThat(get()).isEqualTo("first");
+
+        assertThat(eval(RedisBucketStore.SWAP, "first", "second", "60000")).isTrue();
+        assertThat(get()).isEqualTo("second");
+        assertThat(pttl()).isGreaterThan(1000L);
+    }
+
+    @Test
+    void storesShareBucketsAndExpireThemAfterRefill() {
+        BucketConfiguration twoPerMinute = BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(2, Refill.intervally(2, Duration.ofMinutes(1))))
+                .build();
+        RedisBucketStore node1 = new RedisBucketStore(redisTemplate, connectionFactory);
+        RedisBucketStore node2 = new RedisBucketStore(redisTemplate, connectionFactory);
+
+        assertThat(node1.bucket("test", twoPerMinute).tryConsume(1)).isTrue();
+        assertThat(node2.bucket("test", twoPerMinute).tryConsume(1)).isTrue();
+        assertThat(node1.bucket("test", twoPerMinute).tryConsume(1)).isFalse();
+
+        // Refilled after the minute, then kept for 10 seconds
+        assertThat(pttl()).isBetween(Duration.ofSeconds(60).toMillis(), Duration.ofSeconds(70).toMillis());
+    }
+
+    @Test
+    void asyncBucketsShareStateWithBlockingOnes() throws Exception {
+        BucketConfiguration twoPerMinute = BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(2, Refill.intervally(2, Duration.ofMinutes(1))))
+                .build();
+        RedisBucketStore store = new RedisBucketStore(redisTemplate, connectionFactory);
+
+        assertThat(store.asyncBucket("test", twoPerMinute).tryConsume(1).get()).isTrue();
+        assertThat(store.bucket("test", twoPerMinute).tryConsume(1)).isTrue();
+        assertThat(store.asyncBucket("test", twoPerMinute).tryConsume(1).get()).isFalse();
+        assertThat(pttl()).isBetween(Duration.ofSeconds(60).toMillis(), Duration.ofSeconds(70).toMillis());
+    }
+
+    private static boolean eval(byte[] script, String... args) {
+        byte[][] keysAndArgs = new byte[args.length + 1][];
+        keysAndArgs[0] = KEY;
+        for (int i = 0; i < args.length; i++) {
+            keysAndArgs[i + 1] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return Boolean.TRUE.equals(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.scriptingCommands().eval(script, ReturnType.BOOLEAN, 1, keysAndArgs)));
+    }
+
+    private static String get() {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(KEY));
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static long pttl() {
+        return redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().pTtl(KEY));
+    }
+}
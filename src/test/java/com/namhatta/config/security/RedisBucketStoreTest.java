@@ -0,0 +1,163 @@
+package com.namhatta.config.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveScriptingCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.util.ByteUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisBucketStore against mocked blocking and reactive connections: which script runs, with which arguments and TTL
+ * The scripts themselves are run against a real Redis in RedisBucketStoreRedisTest.
+ */
+class RedisBucketStoreTest {
+
+    private static final BucketConfiguration TEN_PER_MINUTE = BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(10, Refill.intervally(10, Duration.ofMinutes(1))))
+            .build();
+
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+    private final List<Eval> evals = new ArrayList<>();
+
+    private byte[] stored;
+    private RedisBucketStore store;
+
+    private record Eval(byte[] script, String key, List<byte[]> args) {
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(stringCommands.get(any(byte[].class))).thenAnswer(invocation -> stored);
+        when(scriptingCommands.eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenAnswer(invocation -> {
+                    byte[][] keysAndArgs = (byte[][]) invocation.getRawArguments()[3];
+                    List<byte[]> args = List.of(keysAndArgs).subList(1, keysAndArgs.length);
+                    evals.add(new Eval(invocation.getArgument(0), new String(keysAndArgs[0], StandardCharsets.UTF_8), args));
+                    stored = args.get(args.size() - 2);
+                    return true;
+                });
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        ReactiveStringCommands reactiveStringCommands = mock(ReactiveStringCommands.class);
+        ReactiveScriptingCommands reactiveScriptingCommands = mock(ReactiveScriptingCommands.class);
+        ReactiveRedisConnection reactiveConnection = mock(ReactiveRedisConnection.class);
+        when(reactiveConnection.stringCommands()).thenReturn(reactiveStringCommands);
+        when(reactiveConnection.scriptingCommands()).thenReturn(reactiveScriptingCommands);
+        when(reactiveConnection.closeLater()).thenReturn(Mono.empty());
+        when(reactiveStringCommands.get(any(ByteBuffer.class)))
+                .thenAnswer(invocation -> Mono.justOrEmpty(stored).map(ByteBuffer::wrap));
+        when(reactiveScriptingCommands.eval(any(ByteBuffer.class), any(ReturnType.class), anyInt(), any(ByteBuffer[].class)))
+                .thenAnswer(invocation -> {
+                    ByteBuffer[] keysAndArgs = (ByteBuffer[]) invocation.getRawArguments()[3];
+                    List<byte[]> args = Arrays.stream(keysAndArgs, 1, keysAndArgs.length).map(ByteUtils::getBytes).toList();
+                    evals.add(new Eval(ByteUtils.getBytes(invocation.getArgument(0)),
+                            new String(ByteUtils.getBytes(keysAndArgs[0]), StandardCharsets.UTF_8), args));
+                    stored = args.get(args.size() - 2);
+                    return Flux.just(true);
+                });
+        ReactiveRedisConnectionFactory reactiveConnectionFactory = mock(ReactiveRedisConnectionFactory.class);
+        when(reactiveConnectionFactory.getReactiveConnection()).thenReturn(reactiveConnection);
+
+        store = new RedisBucketStore(redisTemplate, reactiveConnectionFactory);
+    }
+
+    @Test
+    void firstConsumeCreatesThePrefixedKey() {
+        assertThat(store.bucket("api:client", TEN_PER_MINUTE).tryConsume(1)).isTrue();
+
+        assertThat(evals).hasSize(1);
+        Eval create = evals.get(0);
+        assertThat(create.script()).isEqualTo(RedisBucketStore.CREATE);
+        assertThat(create.key()).isEqualTo(RedisBucketStore.KEY_PREFIX + "api:client");
+        assertThat(create.args()).hasSize(2);
+    }
+
+    @Test
+    void laterConsumeSwapsAgainstTheStateItRead() {
+        Bucket bucket = store.bucket("api:client", TEN_PER_MINUTE);
+        bucket.tryConsume(1);
+        byte[] created = stored;
+
+        assertThat(bucket.tryConsume(1)).isTrue();
+
+        assertThat(evals).hasSize(2);
+        Eval swap = evals.get(1);
+        assertThat(swap.script()).isEqualTo(RedisBucketStore.SWAP);
+        assertThat(swap.args()).hasSize(3);
+        assertThat(swap.args().get(0)).isEqualTo(created);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(8);
+    }
+
+    @Test
+    void ttlCoversTheRefillPlusTheKeepAfterRefillPeriod() {
+        store.bucket("api:client", TEN_PER_MINUTE).tryConsume(1);
+
+        // Intervally refilled, so the bucket is full again after the whole minute, then kept 10 seconds more.
+        // A clock passed in the wrong unit would put the refill decades away or in the past.
+        long ttlMs = Long.parseLong(new String(evals.get(0).args().get(1), StandardCharsets.UTF_8));
+        assertThat(ttlMs).isBetween(Duration.ofSeconds(69).toMillis(), Duration.ofSeconds(70).toMillis());
+    }
+
+    @Test
+    void failedSwapIsRetriedFromTheCurrentState() {
+        Bucket bucket = store.bucket("api:client", TEN_PER_MINUTE);
+        bucket.tryConsume(1);
+        AtomicInteger attempts = new AtomicInteger();
+        when(scriptingCommands.eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenAnswer(invocation -> attempts.incrementAndGet() > 1);
+
+        assertThat(bucket.tryConsume(1)).isTrue();
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void asyncBucketRunsTheSameScriptsOverTheReactiveConnection() throws Exception {
+        AsyncBucketProxy bucket = store.asyncBucket("api:client", TEN_PER_MINUTE);
+
+        assertThat(bucket.tryConsume(1).get()).isTrue();
+        byte[] created = stored;
+        assertThat(bucket.tryConsume(1).get()).isTrue();
+
+        assertThat(evals).extracting(Eval::script).containsExactly(RedisBucketStore.CREATE, RedisBucketStore.SWAP);
+        assertThat(evals.get(0).key()).isEqualTo(RedisBucketStore.KEY_PREFIX + "api:client");
+        assertThat(evals.get(1).args().get(0)).isEqualTo(created);
+        assertThat(bucket.getAvailableTokens().get()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,151 @@
+package com.namhatta.repository.projection;
+
+import com.namhatta.entity.Devotee;
+import com.namhatta.mapper.DevoteeMapper;
+import com.namhatta.repository.DevoteeRepository;
+import com.namhatta.repository.specification.DevoteeFilter;
+import com.namhatta.repository.support.KeysetPage;
+import com.namhatta.repository.support.KeysetPageReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts for every devotee list endpoint's read path
+ * Each page must load in a fixed number of statements however many rows it holds; a lazy association
+ * touched per row (N+1) makes the larger page cost more and fails the test.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DevoteeListReader.class, KeysetPageReader.class, DevoteeMapper.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DevoteeListQueryCountTest {
+
+    private static final int DEVOTEES = 30;
+    private static final long NAMHATTA_ID = 1L;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private DevoteeListReader devoteeListReader;
+    @Autowired
+    private KeysetPageReader keysetPageReader;
+    @Autowired
+    private DevoteeRepository devoteeRepository;
+    @Autowired
+    private DevoteeMapper devoteeMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Plain SQL, so nothing is in the persistence context when the reads are measured
+        jdbcTemplate.update("INSERT INTO devotional_statuses (id, name) VALUES (1, 'Shraddhavan')");
+        jdbcTemplate.update("INSERT INTO namhattas (id, name, is_approved, is_active) VALUES (?, 'Test Namhatta', true, true)",
+                NAMHATTA_ID);
+        for (long id = 1; id <= DEVOTEES; id++) {
+            jdbcTemplate.update("INSERT INTO devotees (id, legal_name, name, devotional_status_id, namhatta_id) "
+                    + "VALUES (?, ?, ?, 1, ?)", id, "Devotee " + id, "Devotee " + id, NAMHATTA_ID);
+            for (long type = 0; type < 2; type++) {
+                long addressId = id * 2 + type;
+                jdbcTemplate.update("INSERT INTO addresses (id, country, state_name_english, district_name_english) "
+                        + "VALUES (?, 'India', 'West Bengal', 'Nadia')", addressId);
+                jdbcTemplate.update("INSERT INTO devotee_addresses (id, devotee_id, address_id, address_type) "
+                        + "VALUES (?, ?, ?, ?)", addressId, id, addressId, type == 0 ? "present" : "permanent");
+            }
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * GET /api/devotees
+     */
+    @Test
+    void offsetPageLoadsInConstantStatements() {
+        assertConstant(3, size -> devoteeListReader.read(DevoteeFilter.builder().build().toSpecification(false),
+                PageRequest.of(0, size, Sort.by("name"))));
+    }
+
+    /**
+     * GET /api/devotees?after=
+     */
+    @Test
+    void keysetPageLoadsInConstantStatements() {
+        assertConstant(3, size -> {
+            KeysetPage<Long> ids = keysetPageReader.read(Devotee.class, DevoteeFilter.builder().build().toSpecification(false),
+                    "name", false, DevoteeFilter.SORTABLE, null, size, false);
+            devoteeListReader.readByIds(ids.content());
+        });
+    }
+
+    /**
+     * GET /api/namhattas/{id}/devotees
+     */
+    @Test
+    void namhattaDevoteePageLoadsInConstantStatements() {
+        assertConstant(3, size -> devoteeListReader.read(
+                DevoteeFilter.builder().namhattaId(NAMHATTA_ID).build().toSpecification(false),
+                PageRequest.of(0, size, Sort.by("createdAt").descending())));
+    }
+
+    /**
+     * GET /api/devotees/namhatta/{id}: entities mapped to DevoteeDto with the list fetch plan and batched addresses
+     */
+    @Test
+    void namhattaDevoteeDtosLoadInConstantStatements() {
+        assertThat(measure(() -> devoteeRepository.findByNamhattaId(NAMHATTA_ID).forEach(devoteeMapper::toDto)))
+                .isLessThanOrEqualTo(3);
+    }
+
+    private void assertConstant(long expected, IntConsumer readPage) {
+        long small = measure(() -> readPage.accept(5));
+        long large = measure(() -> readPage.accept(DEVOTEES));
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(expected);
+    }
+
+    private long measure(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
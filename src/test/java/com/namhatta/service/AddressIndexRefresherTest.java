@@ -0,0 +1,80 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.AddressDataChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AddressIndexRefresher's coalescing of change notifications into index rebuilds
+ */
+class AddressIndexRefresherTest {
+
+    private static final AddressDataChangedEvent NEW_VILLAGE =
+            new AddressDataChangedEvent("India", "West Bengal", "Nadia", "Krishnanagar", "Mayapur", "741313");
+
+    private final GeographicHierarchyIndex hierarchyIndex = mock(GeographicHierarchyIndex.class);
+    private final PincodeIndex pincodeIndex = mock(PincodeIndex.class);
+    private final AddressIndexRefresher refresher =
+            new AddressIndexRefresher(hierarchyIndex, pincodeIndex, new ApplicationProperties());
+
+    @Test
+    void changeDuringARebuildRunsOneMorePass() throws InterruptedException {
+        CountDownLatch firstRebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRebuild = new CountDownLatch(1);
+        AtomicInteger rebuilds = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (rebuilds.incrementAndGet() == 1) {
+                firstRebuildStarted.countDown();
+                releaseFirstRebuild.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(hierarchyIndex).rebuild();
+
+        Thread startup = new Thread(refresher::onApplicationReady);
+        startup.start();
+        assertThat(firstRebuildStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Returns at once: the running rebuild owns the follow-up pass
+        refresher.onAddressDataChanged(NEW_VILLAGE);
+        assertThat(rebuilds).hasValue(1);
+
+        releaseFirstRebuild.countDown();
+        startup.join(5_000);
+        assertThat(rebuilds).hasValue(2);
+    }
+
+    @Test
+    void alreadyIndexedAddressDoesNotRebuild() {
+        when(hierarchyIndex.contains(any(), any(), any(), any(), any())).thenReturn(true);
+        when(pincodeIndex.contains(any(), any())).thenReturn(true);
+
+        refresher.onAddressDataChanged(NEW_VILLAGE);
+
+        verify(hierarchyIndex, never()).rebuild();
+    }
+
+    @Test
+    void disabledIndexesAreNeverBuilt() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getGeographic().setIndexEnabled(false);
+        AddressIndexRefresher disabled = new AddressIndexRefresher(hierarchyIndex, pincodeIndex, properties);
+
+        disabled.onApplicationReady();
+        disabled.onAddressDataChanged(NEW_VILLAGE);
+
+        verify(hierarchyIndex, never()).rebuild();
+        verify(pincodeIndex, never()).rebuild();
+    }
+}
@@ -0,0 +1,64 @@
+package com.namhatta.service;
+
+import com.namhatta.config.ApplicationProperties;
+import com.namhatta.event.AddressDataChangedEvent;
+import com.namhatta.repository.AddressRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PincodeAddressResolver's caching: hits are kept, misses and loads that raced an eviction are not
+ */
+class PincodeAddressResolverTest {
+
+    private static final Object[] MAYAPUR_ROW = {"741313", "India", "West Bengal", "Nadia", "Krishnanagar", 3L};
+
+    private final AddressRepository addressRepository = mock(AddressRepository.class);
+    private final PincodeAddressResolver resolver =
+            new PincodeAddressResolver(addressRepository, new ApplicationProperties());
+
+    @Test
+    void resolvedPincodeIsServedFromTheCache() {
+        when(addressRepository.aggregateByPincodes(anyCollection())).thenReturn(List.<Object[]>of(MAYAPUR_ROW));
+
+        assertThat(resolver.resolve("741313")).isPresent();
+        assertThat(resolver.resolve("741313")).get()
+                .extracting(PincodeAddressResolver.PincodeAddress::district).isEqualTo("Nadia");
+
+        verify(addressRepository, times(1)).aggregateByPincodes(anyCollection());
+    }
+
+    @Test
+    void unknownPincodeResolvesOnceItsFirstAddressCommits() {
+        when(addressRepository.aggregateByPincodes(anyCollection())).thenReturn(List.of());
+        assertThat(resolver.resolve("741313")).isEmpty();
+
+        // No eviction event needed: the miss was never cached
+        when(addressRepository.aggregateByPincodes(anyCollection())).thenReturn(List.<Object[]>of(MAYAPUR_ROW));
+        assertThat(resolver.resolve("741313")).isPresent();
+    }
+
+    @Test
+    void loadThatOverlapsAnEvictionIsNotCached() {
+        AddressDataChangedEvent committed =
+                new AddressDataChangedEvent("India", "West Bengal", "Nadia", "Krishnanagar", "Mayapur", "741313");
+        when(addressRepository.aggregateByPincodes(anyCollection())).thenAnswer(invocation -> {
+            // The write commits while the (now stale) aggregate is being read
+            resolver.onAddressDataChanged(committed);
+            return List.<Object[]>of(MAYAPUR_ROW);
+        });
+
+        assertThat(resolver.resolve("741313")).isPresent();
+        assertThat(resolver.resolve("741313")).isPresent();
+
+        verify(addressRepository, times(2)).aggregateByPincodes(anyCollection());
+    }
+}